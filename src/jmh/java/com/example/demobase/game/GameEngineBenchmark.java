@@ -0,0 +1,106 @@
+package com.example.demobase.game;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+// Caminos calientes de un intento, sin base ni Spring: se corre con el perfil jmh
+// (ver README, "Benchmarks del motor de juego"). Las letras se intentan por frecuencia en
+// español, como haría un jugador, y la partida a medio jugar se arma con la primera mitad.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GameEngineBenchmark {
+
+    private static final String FRECUENCIA = "EAOSRNIDLCTUMPBGVYQHFZJÑXKWÁÉÍÓÚÜ";
+
+    // 11, 20 y 23 letras: la palabra mínima habitual del diccionario y dos largas
+    @Param({"PROGRAMADOR", "INTERNACIONALIZACIÓN", "ELECTROENCEFALOGRAFISTA"})
+    private String palabra;
+
+    private final GameEngine engine = new HangmanGameEngine();
+    private WordIndex index;
+    private GameState inicial;
+    private GameState aMedias;
+    private char siguienteLetra;
+    private String letrasLegacy;
+
+    @Setup
+    public void setUp() {
+        index = WordIndex.of(palabra);
+        inicial = engine.start(index);
+        // Intentos que dura una partida completa; la partida a medias lleva la mitad
+        int total = 0;
+        for (GameState estado = inicial; total < FRECUENCIA.length() && !engine.isOver(index, estado); total++) {
+            estado = engine.guess(index, estado, FRECUENCIA.charAt(total));
+        }
+        int mitad = total / 2;
+        aMedias = inicial;
+        StringJoiner legacy = new StringJoiner(",");
+        for (int i = 0; i < mitad; i++) {
+            aMedias = engine.guess(index, aMedias, FRECUENCIA.charAt(i));
+            legacy.add(String.valueOf(FRECUENCIA.charAt(i)));
+        }
+        siguienteLetra = FRECUENCIA.charAt(mitad);
+        letrasLegacy = legacy.toString();
+    }
+
+    // Al reservar una palabra se arma su índice
+    @Benchmark
+    public WordIndex wordIndex() {
+        return WordIndex.of(palabra);
+    }
+
+    // Letras intentadas en el formato anterior (texto separado por comas) a máscara
+    @Benchmark
+    public long lettersFromLegacy() {
+        return Alphabet.fromLegacy(letrasLegacy);
+    }
+
+    // Máscara a la lista de letras de la respuesta
+    @Benchmark
+    public List<Character> lettersToList() {
+        return Alphabet.toList(aMedias.letrasIntentadas());
+    }
+
+    @Benchmark
+    public String hiddenWord() {
+        return engine.hiddenWord(index, aMedias);
+    }
+
+    @Benchmark
+    public int score() {
+        return engine.score(index, aMedias);
+    }
+
+    // Un intento sobre una partida a medio jugar (lo que hace makeGuess sin la parte de almacenamiento)
+    @Benchmark
+    public GameState guess() {
+        return engine.guess(index, aMedias, siguienteLetra);
+    }
+
+    // Partida completa: intentos por frecuencia hasta ganar o quedarse sin intentos
+    @Benchmark
+    public int playGame() {
+        GameState estado = inicial;
+        for (int i = 0; i < FRECUENCIA.length() && !engine.isOver(index, estado); i++) {
+            estado = engine.guess(index, estado, FRECUENCIA.charAt(i));
+        }
+        return engine.score(index, estado);
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.demobase.controller;
+
+import com.example.demobase.dto.CacheStatsDTO;
+import com.example.demobase.service.CacheStatsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/caches")
+@RequiredArgsConstructor
+@Tag(name = "Administración", description = "API para consultar el estado interno de la aplicación")
+public class CacheController {
+    
+    private final CacheStatsService cacheStatsService;
+    
+    @GetMapping
+    @Operation(summary = "Obtener aciertos, fallos y tamaño de las cachés locales")
+    public ResponseEntity<List<CacheStatsDTO>> getCacheStats() {
+        return ResponseEntity.ok(cacheStatsService.getCacheStats());
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.demobase.controller;
+
+import com.example.demobase.dto.DictionaryImportDTO;
+import com.example.demobase.service.DictionaryImportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/api/admin/dictionary")
+@RequiredArgsConstructor
+@Tag(name = "Diccionario", description = "API para cargar diccionarios de palabras y consultar su avance")
+public class DictionaryController {
+    
+    private final DictionaryImportService dictionaryImportService;
+    
+    // Texto plano o gzip, una palabra por línea; responde al terminar con los totales
+    @PostMapping(consumes = {MediaType.TEXT_PLAIN_VALUE, "application/gzip", MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    @Operation(summary = "Cargar un diccionario de palabras")
+    public ResponseEntity<DictionaryImportDTO> importWords(@RequestParam(defaultValue = "upload") String origen,
+                                                           InputStream body) throws IOException {
+        return ResponseEntity.ok(dictionaryImportService.importWords(body, origen));
+    }
+    
+    @GetMapping("/progress")
+    @Operation(summary = "Consultar el avance de la carga de diccionario en curso o de la última")
+    public ResponseEntity<DictionaryImportDTO> getProgress() {
+        return dictionaryImportService.getProgress()
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
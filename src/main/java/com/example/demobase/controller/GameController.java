@@ -1,14 +1,23 @@
 package com.example.demobase.controller;
 
 import com.example.demobase.dto.GameDTO;
+import com.example.demobase.dto.GamePageDTO;
 import com.example.demobase.dto.GameResponseDTO;
+import com.example.demobase.dto.GuessBatchRequestDTO;
+import com.example.demobase.game.Alphabet;
+import com.example.demobase.service.GameExportService;
 import com.example.demobase.service.GameService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
@@ -18,7 +27,10 @@ import java.util.Map;
 @Tag(name = "Partidas", description = "API para gestión de partidas del juego Hangman")
 public class GameController {
     
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    
     private final GameService gameService;
+    private final GameExportService gameExportService;
     
     @PostMapping("/start/{playerId}")
     @Operation(summary = "Iniciar nueva partida")
@@ -31,21 +43,63 @@ public class GameController {
     public ResponseEntity<GameResponseDTO> makeGuess(@RequestBody Map<String, Object> request) {
         Long playerId = Long.valueOf(request.get("idJugador").toString());
         Character letra = request.get("letra").toString().charAt(0);
+        // Un carácter fuera del alfabeto no es un intento: se rechaza sin tocar la partida
+        if (!Alphabet.isLetter(letra)) {
+            return ResponseEntity.badRequest().build();
+        }
         
         GameResponseDTO result = gameService.makeGuess(playerId, letra);
         return ResponseEntity.ok(result);
     }
     
+    @PostMapping("/guess/batch")
+    @Operation(summary = "Realizar varios intentos de adivinar letras en orden")
+    public ResponseEntity<List<GameResponseDTO>> makeGuesses(@RequestBody GuessBatchRequestDTO request) {
+        boolean soloFinal = Boolean.TRUE.equals(request.getSoloFinal());
+        if (request.getLetras() != null
+                && request.getLetras().stream().anyMatch(letra -> letra == null || !Alphabet.isLetter(letra))) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(gameService.makeGuesses(request.getIdJugador(), request.getLetras(), soloFinal));
+    }
+    
     @GetMapping
-    @Operation(summary = "Obtener todas las partidas")
-    public ResponseEntity<List<GameDTO>> getAllGames() {
-        return ResponseEntity.ok(gameService.getAllGames());
+    @Operation(summary = "Obtener todas las partidas, paginadas de la más reciente a la más antigua")
+    public ResponseEntity<List<GameDTO>> getAllGames(@RequestParam(required = false) String cursor,
+                                                     @RequestParam(required = false) Integer size) {
+        return toResponse(gameService.getAllGames(cursor, size));
     }
     
     @GetMapping("/player/{playerId}")
-    @Operation(summary = "Obtener partidas de un jugador")
-    public ResponseEntity<List<GameDTO>> getGamesByPlayer(@PathVariable Long playerId) {
-        return ResponseEntity.ok(gameService.getGamesByPlayer(playerId));
+    @Operation(summary = "Obtener partidas de un jugador, paginadas de la más reciente a la más antigua")
+    public ResponseEntity<List<GameDTO>> getGamesByPlayer(@PathVariable Long playerId,
+                                                          @RequestParam(required = false) String cursor,
+                                                          @RequestParam(required = false) Integer size) {
+        return toResponse(gameService.getGamesByPlayer(playerId, cursor, size));
+    }
+    
+    @GetMapping("/export")
+    @Operation(summary = "Exportar el historial de partidas en NDJSON o CSV")
+    public ResponseEntity<StreamingResponseBody> exportGames(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime desde,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime hasta,
+            @RequestParam(required = false) Long playerId) {
+        GameExportService.Format exportFormat = GameExportService.Format.from(format);
+        StreamingResponseBody body = out -> gameExportService.export(exportFormat, desde, hasta, playerId, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"games." + exportFormat.getExtension() + "\"")
+                .body(body);
+    }
+    
+    // El cuerpo sigue siendo la lista; el cursor de la página siguiente va en un header
+    private ResponseEntity<List<GameDTO>> toResponse(GamePageDTO page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getSiguienteCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getSiguienteCursor());
+        }
+        return response.body(page.getPartidas());
     }
 }
 
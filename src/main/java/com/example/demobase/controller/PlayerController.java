@@ -1,14 +1,22 @@
 package com.example.demobase.controller;
 
+import com.example.demobase.dto.ImportResultDTO;
 import com.example.demobase.dto.PlayerDTO;
+import com.example.demobase.service.PlayerImportService;
 import com.example.demobase.service.PlayerService;
+import com.example.demobase.store.DataVersion;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -18,16 +26,24 @@ import java.util.List;
 public class PlayerController {
     
     private final PlayerService playerService;
+    private final PlayerImportService playerImportService;
+    private final DataVersion dataVersion;
     
     @GetMapping
     @Operation(summary = "Obtener todos los jugadores")
-    public ResponseEntity<List<PlayerDTO>> getAllPlayers() {
+    public ResponseEntity<List<PlayerDTO>> getAllPlayers(WebRequest request) {
+        if (notModified(request)) {
+            return null;
+        }
         return ResponseEntity.ok(playerService.getAllPlayers());
     }
     
     @GetMapping("/{id}")
     @Operation(summary = "Obtener jugador por ID")
-    public ResponseEntity<PlayerDTO> getPlayerById(@PathVariable Long id) {
+    public ResponseEntity<PlayerDTO> getPlayerById(@PathVariable Long id, WebRequest request) {
+        if (notModified(request)) {
+            return null;
+        }
         return ResponseEntity.ok(playerService.getPlayerById(id));
     }
     
@@ -38,6 +54,15 @@ public class PlayerController {
                 .body(playerService.createPlayer(playerDTO));
     }
     
+    // El cuerpo se lee a medida que llega: no se arma la lista completa en memoria
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_JSON_VALUE, "text/csv"})
+    @Operation(summary = "Importar jugadores en masa desde un arreglo JSON o un CSV")
+    public ResponseEntity<ImportResultDTO> importPlayers(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                         InputStream body) throws IOException {
+        PlayerImportService.Format format = PlayerImportService.Format.fromContentType(contentType);
+        return ResponseEntity.ok(playerImportService.importPlayers(format, body));
+    }
+    
     @PutMapping("/{id}")
     @Operation(summary = "Actualizar jugador")
     public ResponseEntity<PlayerDTO> updatePlayer(@PathVariable Long id, @RequestBody PlayerDTO playerDTO) {
@@ -50,5 +75,11 @@ public class PlayerController {
         playerService.deletePlayer(id);
         return ResponseEntity.noContent().build();
     }
+    
+    // Si el cliente ya tiene la versión actual responde 304 sin consultar la base
+    private boolean notModified(WebRequest request) {
+        DataVersion.Tag tag = dataVersion.players();
+        return request.checkNotModified(tag.etag(), tag.lastModified());
+    }
 }
 
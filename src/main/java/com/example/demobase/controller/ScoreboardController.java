@@ -1,14 +1,18 @@
 package com.example.demobase.controller;
 
+import com.example.demobase.dto.RankDTO;
 import com.example.demobase.dto.ScoreboardDTO;
 import com.example.demobase.service.ScoreboardService;
+import com.example.demobase.store.DataVersion;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/scoreboard")
@@ -17,17 +21,54 @@ import java.util.List;
 public class ScoreboardController {
     
     private final ScoreboardService scoreboardService;
+    private final DataVersion dataVersion;
     
     @GetMapping
     @Operation(summary = "Obtener grilla de puntajes de todos los jugadores")
-    public ResponseEntity<List<ScoreboardDTO>> getScoreboard() {
+    public ResponseEntity<List<ScoreboardDTO>> getScoreboard(WebRequest request) {
+        if (notModified(request)) {
+            return null;
+        }
         return ResponseEntity.ok(scoreboardService.getScoreboard());
     }
     
     @GetMapping("/player/{playerId}")
     @Operation(summary = "Obtener puntajes de un jugador específico")
-    public ResponseEntity<ScoreboardDTO> getScoreboardByPlayer(@PathVariable Long playerId) {
+    public ResponseEntity<ScoreboardDTO> getScoreboardByPlayer(@PathVariable Long playerId, WebRequest request) {
+        if (notModified(request)) {
+            return null;
+        }
         return ResponseEntity.ok(scoreboardService.getScoreboardByPlayer(playerId));
     }
+    
+    @GetMapping("/top")
+    @Operation(summary = "Obtener los K jugadores con mayor puntaje")
+    public ResponseEntity<List<ScoreboardDTO>> getTop(@RequestParam(defaultValue = "10") int k, WebRequest request) {
+        if (notModified(request)) {
+            return null;
+        }
+        return ResponseEntity.ok(scoreboardService.getTop(k));
+    }
+    
+    @GetMapping("/player/{playerId}/rank")
+    @Operation(summary = "Obtener la posición de un jugador en la grilla")
+    public ResponseEntity<RankDTO> getRankByPlayer(@PathVariable Long playerId, WebRequest request) {
+        if (notModified(request)) {
+            return null;
+        }
+        return ResponseEntity.ok(scoreboardService.getRankByPlayer(playerId));
+    }
+    
+    @PostMapping("/rebuild")
+    @Operation(summary = "Recalcular las estadísticas de los jugadores desde el historial de partidas")
+    public ResponseEntity<Map<String, Integer>> rebuildPlayerStats() {
+        return ResponseEntity.ok(Map.of("jugadores", scoreboardService.rebuildPlayerStats()));
+    }
+    
+    // Si el cliente ya tiene la versión actual responde 304 sin consultar la base
+    private boolean notModified(WebRequest request) {
+        DataVersion.Tag tag = dataVersion.scoreboard();
+        return request.checkNotModified(tag.etag(), tag.lastModified());
+    }
 }
 
@@ -1,16 +1,20 @@
 package com.example.demobase.controller;
 
-import com.example.demobase.dto.WordDTO;
 import com.example.demobase.service.WordService;
+import com.example.demobase.store.WordCatalog;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
-import java.util.List;
+import java.util.Locale;
 
 @RestController
 @RequestMapping("/api/words")
@@ -20,10 +24,61 @@ public class WordController {
     
     private final WordService wordService;
     
-    @GetMapping
+    // Responde los bytes ya serializados; si el cliente tiene la misma versión, 304 sin cuerpo
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
     @Operation(summary = "Obtener lista de todas las palabras con su estado de uso")
-    public ResponseEntity<List<WordDTO>> getAllWords() {
-        return ResponseEntity.ok(wordService.getAllWords());
+    public ResponseEntity<byte[]> getAllWords(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest request) {
+        WordCatalog.Snapshot catalogo = wordService.getCatalog();
+        boolean gzip = acceptsGzip(acceptEncoding);
+        String etag = gzip ? catalogo.gzipEtag() : catalogo.etag();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        // checkNotModified ya dejó el ETag en la respuesta
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(catalogo.gzip());
+        }
+        return response.body(catalogo.json());
+    }
+    
+    // gzip se acepta si aparece (o aparece *) con q mayor que cero; gzip;q=0 lo rechaza aunque esté *
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzip = null;
+        Double comodin = null;
+        for (String opcion : acceptEncoding.split(",")) {
+            String[] partes = opcion.split(";");
+            String codificacion = partes[0].trim().toLowerCase(Locale.ROOT);
+            double q = quality(partes);
+            if (codificacion.equals("gzip") || codificacion.equals("x-gzip")) {
+                gzip = q;
+            } else if (codificacion.equals("*")) {
+                comodin = q;
+            }
+        }
+        Double elegida = gzip != null ? gzip : comodin;
+        return elegida != null && elegida > 0;
+    }
+    
+    // Un q mal formado se toma como 0: ante la duda se responde sin comprimir
+    private static double quality(String[] partes) {
+        for (int i = 1; i < partes.length; i++) {
+            String parametro = partes[i].trim();
+            if (parametro.regionMatches(true, 0, "q=", 0, 2)) {
+                try {
+                    return Double.parseDouble(parametro.substring(2).trim());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
     }
 }
-
@@ -0,0 +1,17 @@
+package com.example.demobase.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheStatsDTO {
+    private String nombre;
+    private Long entradas;
+    private Long aciertos;
+    private Long fallos;
+    private Double tasaAciertos;
+    private Long desalojos;
+}
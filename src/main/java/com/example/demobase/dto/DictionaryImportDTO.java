@@ -0,0 +1,23 @@
+package com.example.demobase.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DictionaryImportDTO {
+    // EN_CURSO, TERMINADA o FALLIDA
+    private String estado;
+    private String origen;
+    private Long lineasLeidas;
+    private Long palabrasNuevas;
+    private Long duplicadas;
+    private Long invalidas;
+    private LocalDateTime inicio;
+    private LocalDateTime fin;
+    private String error;
+}
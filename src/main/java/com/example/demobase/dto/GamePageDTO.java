@@ -0,0 +1,16 @@
+package com.example.demobase.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GamePageDTO {
+    private List<GameDTO> partidas;
+    // null en la última página
+    private String siguienteCursor;
+}
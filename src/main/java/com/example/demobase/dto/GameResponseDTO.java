@@ -1,19 +1,33 @@
 package com.example.demobase.dto;
 
-import lombok.AllArgsConstructor;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.util.List;
+import java.util.function.Supplier;
 
 @Data
 @NoArgsConstructor
-@AllArgsConstructor
 public class GameResponseDTO {
     private String palabraOculta;
     private List<Character> letrasIntentadas;
     private Integer intentosRestantes;
     private Boolean palabraCompleta;
     private Integer puntajeAcumulado;
+    
+    // Arma palabraOculta recién cuando se lee (al serializar la respuesta)
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Supplier<String> palabraOcultaDiferida;
+    
+    public String getPalabraOculta() {
+        if (palabraOculta == null && palabraOcultaDiferida != null) {
+            palabraOculta = palabraOcultaDiferida.get();
+        }
+        return palabraOculta;
+    }
 }
-
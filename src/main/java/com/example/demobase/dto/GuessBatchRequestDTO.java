@@ -0,0 +1,18 @@
+package com.example.demobase.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GuessBatchRequestDTO {
+    private Long idJugador;
+    // Se aplican en este orden
+    private List<Character> letras;
+    // true: solo el estado después de la última letra aplicada
+    private Boolean soloFinal;
+}
@@ -0,0 +1,14 @@
+package com.example.demobase.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportErrorDTO {
+    // Número de fila en el archivo, empezando en 1 (sin contar el encabezado del CSV)
+    private Long fila;
+    private String mensaje;
+}
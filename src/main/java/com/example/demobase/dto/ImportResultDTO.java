@@ -0,0 +1,18 @@
+package com.example.demobase.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportResultDTO {
+    private Long recibidos;
+    private Long importados;
+    private Long rechazados;
+    // Solo los primeros errores; rechazados tiene el total
+    private List<ImportErrorDTO> errores;
+}
@@ -0,0 +1,16 @@
+package com.example.demobase.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RankDTO {
+    private Long idJugador;
+    private String nombreJugador;
+    private Integer puntajeTotal;
+    private Integer posicion;
+    private Integer totalJugadores;
+}
@@ -0,0 +1,88 @@
+package com.example.demobase.game;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Alfabeto del juego: cada letra ocupa un bit de un long
+public final class Alphabet {
+
+    // A-Z ocupan los bits 0-25, el resto a continuación
+    private static final String LETRAS = "ABCDEFGHIJKLMNOPQRSTUVWXYZÑÁÉÍÓÚÜ";
+
+    public static final int SIZE = LETRAS.length();
+
+    private Alphabet() {
+    }
+
+    // Posición de la letra en el alfabeto o -1 si no pertenece
+    public static int indexOf(char letra) {
+        char c = Character.toUpperCase(letra);
+        if (c >= 'A' && c <= 'Z') {
+            return c - 'A';
+        }
+        return switch (c) {
+            case 'Ñ' -> 26;
+            case 'Á' -> 27;
+            case 'É' -> 28;
+            case 'Í' -> 29;
+            case 'Ó' -> 30;
+            case 'Ú' -> 31;
+            case 'Ü' -> 32;
+            default -> -1;
+        };
+    }
+
+    public static boolean isLetter(char letra) {
+        return indexOf(letra) >= 0;
+    }
+
+    public static char letterAt(int index) {
+        return LETRAS.charAt(index);
+    }
+
+    public static long bit(char letra) {
+        int index = indexOf(letra);
+        if (index < 0) {
+            throw new IllegalArgumentException("Letra no válida: " + letra);
+        }
+        return 1L << index;
+    }
+
+    public static boolean contains(long mask, char letra) {
+        int index = indexOf(letra);
+        return index >= 0 && (mask & (1L << index)) != 0;
+    }
+
+    public static long add(long mask, char letra) {
+        return mask | bit(letra);
+    }
+
+    public static int count(long mask) {
+        return Long.bitCount(mask);
+    }
+
+    public static List<Character> toList(long mask) {
+        List<Character> letras = new ArrayList<>(Long.bitCount(mask));
+        long resto = mask;
+        while (resto != 0) {
+            letras.add(LETRAS.charAt(Long.numberOfTrailingZeros(resto)));
+            resto &= resto - 1;
+        }
+        return letras;
+    }
+
+    // Convierte el formato anterior "A,B,C" a máscara, ignorando lo que no sea una letra
+    public static long fromLegacy(String letras) {
+        long mask = 0L;
+        if (letras == null || letras.isEmpty()) {
+            return mask;
+        }
+        for (String parte : letras.split(",")) {
+            String letra = parte.trim();
+            if (!letra.isEmpty() && isLetter(letra.charAt(0))) {
+                mask = add(mask, letra.charAt(0));
+            }
+        }
+        return mask;
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.demobase.game;
+
+// Reglas del juego, sin estado propio ni acceso a la base: calcula el estado siguiente de una
+// partida y GameService se encarga de guardarla
+public interface GameEngine {
+
+    // Estado inicial: solo se ven los caracteres que no son letras
+    GameState start(WordIndex palabra);
+
+    // Aplica una letra. Si ya se había intentado devuelve el mismo estado, sin descontar intentos
+    GameState guess(WordIndex palabra, GameState estado, char letra);
+
+    boolean isWon(WordIndex palabra, GameState estado);
+
+    boolean isOver(WordIndex palabra, GameState estado);
+
+    int score(WordIndex palabra, GameState estado);
+
+    // Palabra con guiones bajos en las posiciones todavía ocultas
+    String hiddenWord(WordIndex palabra, GameState estado);
+}
@@ -0,0 +1,6 @@
+package com.example.demobase.game;
+
+// Estado de una partida como máscaras de bits: letras intentadas (ver Alphabet), posiciones
+// visibles de la palabra (ver WordIndex) e intentos que quedan
+public record GameState(long letrasIntentadas, long posicionesReveladas, int intentosRestantes) {
+}
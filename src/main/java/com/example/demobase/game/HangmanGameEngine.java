@@ -0,0 +1,62 @@
+package com.example.demobase.game;
+
+import org.springframework.stereotype.Component;
+
+// Ahorcado clásico: 7 intentos, 20 puntos por completar la palabra y, si se agotan los
+// intentos, 1 punto por cada letra correcta encontrada
+@Component
+public class HangmanGameEngine implements GameEngine {
+
+    public static final int MAX_INTENTOS = 7;
+    private static final int PUNTOS_PALABRA_COMPLETA = 20;
+    private static final int PUNTOS_POR_LETRA = 1;
+
+    @Override
+    public GameState start(WordIndex palabra) {
+        return new GameState(0L, palabra.getPosicionesFijas(), MAX_INTENTOS);
+    }
+
+    @Override
+    public GameState guess(WordIndex palabra, GameState estado, char letra) {
+        letra = Character.toUpperCase(letra);
+        if (!Alphabet.isLetter(letra)) {
+            throw new IllegalArgumentException("Letra no válida: " + letra);
+        }
+        if (Alphabet.contains(estado.letrasIntentadas(), letra)) {
+            return estado;
+        }
+        long letrasIntentadas = Alphabet.add(estado.letrasIntentadas(), letra);
+        // Si la letra está en la palabra se descubren solo sus posiciones, si no se descuenta un intento
+        if (palabra.contains(letra)) {
+            return new GameState(letrasIntentadas, estado.posicionesReveladas() | palabra.positionsOf(letra),
+                    estado.intentosRestantes());
+        }
+        return new GameState(letrasIntentadas, estado.posicionesReveladas(), estado.intentosRestantes() - 1);
+    }
+
+    @Override
+    public boolean isWon(WordIndex palabra, GameState estado) {
+        return estado.posicionesReveladas() == palabra.allPositions();
+    }
+
+    @Override
+    public boolean isOver(WordIndex palabra, GameState estado) {
+        return isWon(palabra, estado) || estado.intentosRestantes() <= 0;
+    }
+
+    @Override
+    public int score(WordIndex palabra, GameState estado) {
+        if (isWon(palabra, estado)) {
+            return PUNTOS_PALABRA_COMPLETA;
+        } else if (estado.intentosRestantes() == 0) {
+            // Contar letras correctas encontradas
+            return palabra.correctLetters(estado.letrasIntentadas()) * PUNTOS_POR_LETRA;
+        }
+        return 0;
+    }
+
+    @Override
+    public String hiddenWord(WordIndex palabra, GameState estado) {
+        return palabra.render(estado.posicionesReveladas());
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.demobase.game;
+
+// Índice precalculado de una palabra: qué letras tiene y en qué posiciones
+public final class WordIndex {
+
+    // Las posiciones se guardan como bits de un long
+    public static final int MAX_LENGTH = Long.SIZE;
+
+    private final String palabra;
+    private final long letras;
+    private final long[] posiciones;
+    private final long posicionesFijas;
+
+    private WordIndex(String palabra, long letras, long[] posiciones, long posicionesFijas) {
+        this.palabra = palabra;
+        this.letras = letras;
+        this.posiciones = posiciones;
+        this.posicionesFijas = posicionesFijas;
+    }
+
+    public static WordIndex of(String palabra) {
+        String secreta = palabra.toUpperCase();
+        if (secreta.length() > MAX_LENGTH) {
+            throw new IllegalArgumentException("La palabra supera los " + MAX_LENGTH + " caracteres: " + palabra);
+        }
+        long letras = 0L;
+        long[] posiciones = new long[Alphabet.SIZE];
+        long posicionesFijas = 0L;
+        for (int i = 0; i < secreta.length(); i++) {
+            int index = Alphabet.indexOf(secreta.charAt(i));
+            if (index < 0) {
+                // Espacios, guiones, etc. se muestran siempre
+                posicionesFijas |= 1L << i;
+            } else {
+                letras |= 1L << index;
+                posiciones[index] |= 1L << i;
+            }
+        }
+        return new WordIndex(secreta, letras, posiciones, posicionesFijas);
+    }
+
+    // Palabra en mayúsculas
+    public String getPalabra() {
+        return palabra;
+    }
+
+    public int length() {
+        return palabra.length();
+    }
+
+    public long getPosicionesFijas() {
+        return posicionesFijas;
+    }
+
+    public boolean contains(char letra) {
+        return Alphabet.contains(letras, letra);
+    }
+
+    public long positionsOf(char letra) {
+        int index = Alphabet.indexOf(letra);
+        return index < 0 ? 0L : posiciones[index];
+    }
+
+    public int correctLetters(long letrasIntentadas) {
+        return Long.bitCount(letras & letrasIntentadas);
+    }
+
+    // Máscara con todas las posiciones de la palabra
+    public long allPositions() {
+        return palabra.length() == MAX_LENGTH ? -1L : (1L << palabra.length()) - 1;
+    }
+
+    // Posiciones visibles dadas las letras intentadas; solo para reconstruir el estado
+    public long revealedBy(long letrasIntentadas) {
+        long reveladas = posicionesFijas;
+        long resto = letras & letrasIntentadas;
+        while (resto != 0) {
+            reveladas |= posiciones[Long.numberOfTrailingZeros(resto)];
+            resto &= resto - 1;
+        }
+        return reveladas;
+    }
+
+    public String render(long reveladas) {
+        char[] chars = palabra.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            if ((reveladas & (1L << i)) == 0) {
+                chars[i] = '_';
+            }
+        }
+        return new String(chars);
+    }
+}
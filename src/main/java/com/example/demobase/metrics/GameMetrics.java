@@ -0,0 +1,98 @@
+package com.example.demobase.metrics;
+
+import com.example.demobase.repository.WordRepository;
+import com.example.demobase.store.ActiveGameStore;
+import com.example.demobase.store.GameCompletionQueue;
+import com.example.demobase.store.WordPool;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+// Métricas del ciclo de vida de las partidas, expuestas en /actuator/prometheus.
+// Los histogramas de los timers se habilitan por configuración (management.metrics.distribution.*).
+@Slf4j
+@Component
+public class GameMetrics {
+
+    private final Timer inicioOk;
+    private final Timer inicioError;
+    private final Timer intentoOk;
+    private final Timer intentoError;
+    private final Counter ganadas;
+    private final Counter perdidas;
+
+    public GameMetrics(MeterRegistry registry, ActiveGameStore activeGameStore, WordPool wordPool,
+                       WordRepository wordRepository, GameCompletionQueue gameCompletionQueue) {
+        inicioOk = timer(registry, "game.start", "Inicio de partida (GameService.startGame)", "success");
+        inicioError = timer(registry, "game.start", "Inicio de partida (GameService.startGame)", "error");
+        intentoOk = timer(registry, "game.guess", "Intento de una letra (GameService.makeGuess)", "success");
+        intentoError = timer(registry, "game.guess", "Intento de una letra (GameService.makeGuess)", "error");
+        ganadas = counter(registry, "won");
+        perdidas = counter(registry, "lost");
+
+        // Partidas en curso en la memoria de esta instancia
+        Gauge.builder("game.sessions.active", activeGameStore, ActiveGameStore::size)
+                .description("Partidas en curso en esta instancia")
+                .register(registry);
+        // Palabras sin usar en la base: una consulta por lectura, es decir por scrape
+        Gauge.builder("game.words.remaining", wordRepository, GameMetrics::remainingWords)
+                .description("Palabras no utilizadas en la base")
+                .register(registry);
+        Gauge.builder("game.words.reserved", wordPool, WordPool::available)
+                .description("Palabras del bloque reservado por esta instancia que todavía no se entregaron")
+                .register(registry);
+        Gauge.builder("game.completion.pending", gameCompletionQueue, GameCompletionQueue::pending)
+                .description("Partidas terminadas que esperan ser escritas en el historial")
+                .register(registry);
+        // Si crece, el historial y la grilla van atrasados hasta lo que tarde la recuperación
+        FunctionCounter.builder("game.completion.overflow", gameCompletionQueue, GameCompletionQueue::overflowed)
+                .description("Partidas terminadas que no entraron en la cola y quedaron para la recuperación")
+                .register(registry);
+        // Distinto de cero pide revisar finished_games: hay partidas que no entran al historial
+        FunctionCounter.builder("game.completion.failed", gameCompletionQueue, GameCompletionQueue::failed)
+                .description("Partidas terminadas marcadas como fallidas en finished_games tras agotar los intentos")
+                .register(registry);
+    }
+
+    private static Timer timer(MeterRegistry registry, String nombre, String descripcion, String resultado) {
+        return Timer.builder(nombre)
+                .description(descripcion)
+                .tag("outcome", resultado)
+                .register(registry);
+    }
+
+    private static Counter counter(MeterRegistry registry, String resultado) {
+        return Counter.builder("game.finished")
+                .description("Partidas terminadas")
+                .tag("result", resultado)
+                .register(registry);
+    }
+
+    // Si la base no responde el gauge queda sin valor en lugar de romper el scrape
+    private static double remainingWords(WordRepository wordRepository) {
+        try {
+            return wordRepository.countByUtilizadaFalse();
+        } catch (RuntimeException e) {
+            log.warn("No se pudo contar las palabras disponibles: {}", e.getMessage());
+            return Double.NaN;
+        }
+    }
+
+    public void recordStart(long nanos, boolean ok) {
+        (ok ? inicioOk : inicioError).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordGuess(long nanos, boolean ok) {
+        (ok ? intentoOk : intentoError).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void gameFinished(boolean ganado) {
+        (ganado ? ganadas : perdidas).increment();
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.demobase.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Partida terminada que todavía no pasó al historial. Se guarda antes de responder el último
+// intento y GameCompletionQueue la borra al registrarla en games. Sin claves foráneas: guardarla
+// no puede fallar porque el jugador se haya borrado mientras tanto
+@Entity
+@Table(name = "finished_games")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FinishedGame {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(length = 36, nullable = false, unique = true)
+    private String evento;
+    
+    @Column(name = "id_jugador", nullable = false)
+    private Long idJugador;
+    
+    // Nombre al terminar la partida, para la grilla en memoria si la registra otra instancia
+    @Column(name = "nombre_jugador", nullable = false)
+    private String nombreJugador;
+    
+    @Column(name = "id_palabra", nullable = false)
+    private Long idPalabra;
+    
+    @Column(nullable = false)
+    private String resultado; // "GANADO" o "PERDIDO"
+    
+    @Column(nullable = false)
+    private Integer puntaje;
+    
+    @Column(name = "fecha_partida", nullable = false)
+    private LocalDateTime fechaPartida;
+    
+    // Intentos de registrarla que fallaron y el último error
+    @Column(nullable = false)
+    private Integer intentos = 0;
+    
+    @Column(length = 1000)
+    private String error;
+    
+    // Falló game.completion.max-attempts veces: la recuperación ya no la toma, queda para revisarla a mano
+    @Column(nullable = false)
+    private Boolean fallida = false;
+}
@@ -8,7 +8,10 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "games")
+@Table(name = "games", indexes = {
+        @Index(name = "idx_games_fecha_id", columnList = "fecha_partida, id"),
+        @Index(name = "idx_games_jugador_fecha_id", columnList = "id_jugador, fecha_partida, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -28,11 +31,15 @@ public class Game {
     @Column(nullable = false)
     private Integer puntaje;
     
-    @Column(nullable = false)
+    @Column(name = "fecha_partida", nullable = false)
     private LocalDateTime fechaPartida;
     
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "id_palabra")
     private Word palabra;
+    
+    // Identificador del fin de partida: un lote reintentado no la registra dos veces
+    @Column(length = 36, unique = true)
+    private String evento;
 }
 
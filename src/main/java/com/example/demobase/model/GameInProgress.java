@@ -1,14 +1,24 @@
 package com.example.demobase.model;
 
+import com.example.demobase.game.Alphabet;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
+import java.util.concurrent.locks.ReentrantLock;
 
 @Entity
-@Table(name = "games_in_progress")
+// Una sola partida en curso por jugador: con varias instancias, la base es la que rechaza la segunda
+@Table(name = "games_in_progress", indexes = {
+        @Index(name = "idx_games_in_progress_jugador_fecha", columnList = "id_jugador, fecha_inicio")
+}, uniqueConstraints = {
+        @UniqueConstraint(name = "uk_games_in_progress_jugador", columnNames = "id_jugador")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -26,13 +36,43 @@ public class GameInProgress {
     @JoinColumn(name = "id_palabra", nullable = false)
     private Word palabra;
     
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private Long letrasIntentadasMask = 0L; // Un bit por letra del alfabeto (ver Alphabet)
+    
+    // Formato anterior "A,B,C": solo se lee para migrar filas existentes y se deja vacío
     @Column(nullable = false, length = 1000)
-    private String letrasIntentadas; // Almacenadas como String separado por comas: "A,B,C"
+    private String letrasIntentadas = "";
     
     @Column(nullable = false)
     private Integer intentosRestantes;
     
-    @Column(nullable = false)
+    @Column(name = "fecha_inicio", nullable = false)
     private LocalDateTime fechaInicio;
+    
+    // Posiciones ya descubiertas; no se persiste, se reconstruye desde las letras al cargar
+    @Transient
+    private Long posicionesReveladas;
+    
+    // Ya terminó y se está guardando: si un volcado escribe la fila al mismo tiempo, la borra
+    @Transient
+    private volatile boolean terminada;
+    
+    // Aplica de a uno los intentos de un mismo jugador. No es synchronized: el intento que termina
+    // la partida la guarda en la base con el lock tomado
+    @Transient
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private final ReentrantLock lock = new ReentrantLock();
+    
+    // Pasa las letras del formato anterior a la máscara; devuelve true si hubo cambios
+    public boolean migrateLegacyLetters() {
+        if (letrasIntentadas == null || letrasIntentadas.isEmpty()) {
+            return false;
+        }
+        letrasIntentadasMask = (letrasIntentadasMask == null ? 0L : letrasIntentadasMask)
+                | Alphabet.fromLegacy(letrasIntentadas);
+        letrasIntentadas = "";
+        return true;
+    }
 }
-
@@ -0,0 +1,31 @@
+package com.example.demobase.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Totales por jugador mantenidos al terminar cada partida; se pueden recalcular desde games
+@Entity
+@Table(name = "player_stats")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlayerStats {
+    
+    @Id
+    @Column(name = "id_jugador")
+    private Long idJugador;
+    
+    @Column(name = "puntaje_total", nullable = false)
+    private Integer puntajeTotal = 0;
+    
+    @Column(name = "partidas_jugadas", nullable = false)
+    private Long partidasJugadas = 0L;
+    
+    @Column(name = "partidas_ganadas", nullable = false)
+    private Long partidasGanadas = 0L;
+    
+    @Column(name = "partidas_perdidas", nullable = false)
+    private Long partidasPerdidas = 0L;
+}
@@ -1,15 +1,21 @@
 package com.example.demobase.model;
 
+import com.example.demobase.game.WordIndex;
 import jakarta.persistence.*;
-import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "words")
+@Table(name = "words", indexes = {
+        @Index(name = "idx_words_utilizada_reserva", columnList = "utilizada, reservada_hasta"),
+        @Index(name = "idx_words_reserva", columnList = "reserva")
+})
 @Data
 @NoArgsConstructor
-@AllArgsConstructor
 public class Word {
     
     @Id
@@ -21,5 +27,36 @@ public class Word {
     
     @Column(nullable = false)
     private Boolean utilizada = false;
+    
+    // Bloque de reserva del nodo que puede entregar la palabra, hasta reservadaHasta
+    @Column(length = 36)
+    private String reserva;
+    
+    @Column(name = "reservada_hasta")
+    private LocalDateTime reservadaHasta;
+    
+    // Se calcula la primera vez que se usa y se reutiliza en toda la partida. No se arma al cargar:
+    // listar palabras no lo necesita, y una palabra que no entra en el índice no debe romper la lista
+    @Transient
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private WordIndex index;
+    
+    public Word(Long id, String palabra, Boolean utilizada) {
+        this.id = id;
+        this.palabra = palabra;
+        this.utilizada = utilizada;
+    }
+    
+    public void setPalabra(String palabra) {
+        this.palabra = palabra;
+        this.index = null;
+    }
+    
+    public WordIndex getIndex() {
+        if (index == null && palabra != null) {
+            index = WordIndex.of(palabra);
+        }
+        return index;
+    }
 }
-
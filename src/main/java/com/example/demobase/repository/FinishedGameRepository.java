@@ -0,0 +1,35 @@
+package com.example.demobase.repository;
+
+import com.example.demobase.model.FinishedGame;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface FinishedGameRepository extends JpaRepository<FinishedGame, Long> {
+    
+    // Partidas guardadas antes de :antes que nadie registró todavía, las más viejas primero
+    @Query("SELECT f FROM FinishedGame f WHERE f.fechaPartida < :antes AND f.fallida = false ORDER BY f.id")
+    List<FinishedGame> findPending(@Param("antes") LocalDateTime antes, Pageable limit);
+    
+    // Un solo DELETE para todo el lote, sin leer las filas antes
+    @Modifying
+    @Query("DELETE FROM FinishedGame f WHERE f.evento IN :eventos")
+    int deleteByEventos(@Param("eventos") Collection<String> eventos);
+    
+    @Modifying
+    @Query("UPDATE FinishedGame f SET f.intentos = f.intentos + 1, f.error = :error WHERE f.evento = :evento")
+    int recordFailure(@Param("evento") String evento, @Param("error") String error);
+    
+    // Devuelve 1 si la partida llegó al máximo de intentos y quedó marcada como fallida
+    @Modifying
+    @Query("UPDATE FinishedGame f SET f.fallida = true WHERE f.evento = :evento AND f.intentos >= :maximo AND f.fallida = false")
+    int markFailed(@Param("evento") String evento, @Param("maximo") int maximo);
+}
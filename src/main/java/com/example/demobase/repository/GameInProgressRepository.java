@@ -1,9 +1,8 @@
 package com.example.demobase.repository;
 
 import com.example.demobase.model.GameInProgress;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -11,10 +10,7 @@ import java.util.Optional;
 @Repository
 public interface GameInProgressRepository extends JpaRepository<GameInProgress, Long> {
     
-    @Query("SELECT g FROM GameInProgress g WHERE g.jugador.id = :playerId AND g.palabra.id = :wordId")
-    Optional<GameInProgress> findByJugadorAndPalabra(@Param("playerId") Long playerId, @Param("wordId") Long wordId);
-    
-    @Query("SELECT g FROM GameInProgress g WHERE g.jugador.id = :playerId ORDER BY g.fechaInicio DESC")
-    java.util.List<GameInProgress> findByJugadorIdOrderByFechaInicioDesc(@Param("playerId") Long playerId);
+    // Partida en curso más reciente del jugador con su palabra y el jugador en un solo SELECT ... LIMIT 1
+    @EntityGraph(attributePaths = {"jugador", "palabra"})
+    Optional<GameInProgress> findFirstByJugadorIdOrderByFechaInicioDesc(Long playerId);
 }
-
@@ -1,20 +1,57 @@
 package com.example.demobase.repository;
 
+import com.example.demobase.dto.GameDTO;
 import com.example.demobase.model.Game;
-import com.example.demobase.model.Player;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
+// Historial paginado por (fechaPartida, id) descendente: cada página continúa
+// después de la última fila de la anterior, así el costo no depende de la página
 @Repository
 public interface GameRepository extends JpaRepository<Game, Long> {
     
-    List<Game> findByJugador(Player jugador);
+    // Jugador y palabra en el mismo SELECT: listar partidas no dispara consultas por fila
+    String SELECT_DTO = "SELECT new com.example.demobase.dto.GameDTO(g.id, j.id, j.nombre, g.resultado, " +
+            "g.puntaje, g.fechaPartida, p.palabra) FROM Game g JOIN g.jugador j LEFT JOIN g.palabra p ";
     
-    @Query("SELECT g FROM Game g WHERE g.jugador.id = :playerId ORDER BY g.fechaPartida DESC")
-    List<Game> findByJugadorId(@Param("playerId") Long playerId);
+    @Query(SELECT_DTO + "ORDER BY g.fechaPartida DESC, g.id DESC")
+    List<GameDTO> findFirstPage(Pageable pageable);
+    
+    @Query(SELECT_DTO +
+            "WHERE g.fechaPartida < :fecha OR (g.fechaPartida = :fecha AND g.id < :id) " +
+            "ORDER BY g.fechaPartida DESC, g.id DESC")
+    List<GameDTO> findPageAfter(@Param("fecha") LocalDateTime fecha, @Param("id") Long id, Pageable pageable);
+    
+    @Query(SELECT_DTO + "WHERE j.id = :playerId ORDER BY g.fechaPartida DESC, g.id DESC")
+    List<GameDTO> findFirstPageByJugadorId(@Param("playerId") Long playerId, Pageable pageable);
+    
+    @Query(SELECT_DTO + "WHERE j.id = :playerId " +
+            "AND (g.fechaPartida < :fecha OR (g.fechaPartida = :fecha AND g.id < :id)) " +
+            "ORDER BY g.fechaPartida DESC, g.id DESC")
+    List<GameDTO> findPageByJugadorIdAfter(@Param("playerId") Long playerId, @Param("fecha") LocalDateTime fecha,
+                                           @Param("id") Long id, Pageable pageable);
+    
+    // Exportación: filas ya proyectadas, leídas del cursor de a 500.
+    // Los filtros en null no se aplican. Se debe consumir dentro de una transacción.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(SELECT_DTO +
+            "WHERE (:desde IS NULL OR g.fechaPartida >= :desde) " +
+            "AND (:hasta IS NULL OR g.fechaPartida < :hasta) " +
+            "AND (:playerId IS NULL OR j.id = :playerId) " +
+            "ORDER BY g.fechaPartida, g.id")
+    Stream<GameDTO> streamForExport(@Param("desde") LocalDateTime desde, @Param("hasta") LocalDateTime hasta,
+                                    @Param("playerId") Long playerId);
 }
-
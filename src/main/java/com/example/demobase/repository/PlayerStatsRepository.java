@@ -0,0 +1,51 @@
+package com.example.demobase.repository;
+
+import com.example.demobase.dto.ScoreboardDTO;
+import com.example.demobase.model.PlayerStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface PlayerStatsRepository extends JpaRepository<PlayerStats, Long> {
+    
+    // Grilla completa en una sola consulta, ordenada en la base; incluye jugadores sin partidas
+    @Query("SELECT new com.example.demobase.dto.ScoreboardDTO(p.id, p.nombre, " +
+            "COALESCE(s.puntajeTotal, 0), COALESCE(s.partidasJugadas, 0L), " +
+            "COALESCE(s.partidasGanadas, 0L), COALESCE(s.partidasPerdidas, 0L)) " +
+            "FROM Player p LEFT JOIN PlayerStats s ON s.idJugador = p.id " +
+            "ORDER BY COALESCE(s.puntajeTotal, 0) DESC, p.id")
+    List<ScoreboardDTO> findScoreboard();
+    
+    @Query("SELECT new com.example.demobase.dto.ScoreboardDTO(p.id, p.nombre, " +
+            "COALESCE(s.puntajeTotal, 0), COALESCE(s.partidasJugadas, 0L), " +
+            "COALESCE(s.partidasGanadas, 0L), COALESCE(s.partidasPerdidas, 0L)) " +
+            "FROM Player p LEFT JOIN PlayerStats s ON s.idJugador = p.id " +
+            "WHERE p.id = :idJugador")
+    Optional<ScoreboardDTO> findScoreboardByPlayer(@Param("idJugador") Long idJugador);
+    
+    // Suma las partidas terminadas de un lote; devuelve 0 si el jugador todavía no tiene fila
+    @Modifying
+    @Query("UPDATE PlayerStats s SET s.puntajeTotal = s.puntajeTotal + :puntaje, " +
+            "s.partidasJugadas = s.partidasJugadas + :jugadas, " +
+            "s.partidasGanadas = s.partidasGanadas + :ganadas, " +
+            "s.partidasPerdidas = s.partidasPerdidas + :perdidas " +
+            "WHERE s.idJugador = :idJugador")
+    int addGames(@Param("idJugador") Long idJugador, @Param("puntaje") int puntaje, @Param("jugadas") long jugadas,
+                 @Param("ganadas") long ganadas, @Param("perdidas") long perdidas);
+    
+    // Recalcula todas las filas desde el historial; se usa después de vaciar la tabla
+    @Modifying
+    @Query(value = "INSERT INTO player_stats (id_jugador, puntaje_total, partidas_jugadas, partidas_ganadas, partidas_perdidas) " +
+            "SELECT g.id_jugador, SUM(g.puntaje), COUNT(*), " +
+            "SUM(CASE WHEN g.resultado = 'GANADO' THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN g.resultado = 'PERDIDO' THEN 1 ELSE 0 END) " +
+            "FROM games g GROUP BY g.id_jugador",
+            nativeQuery = true)
+    int rebuildFromGames();
+}
@@ -2,9 +2,15 @@ package com.example.demobase.repository;
 
 import com.example.demobase.model.Word;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -12,10 +18,39 @@ public interface WordRepository extends JpaRepository<Word, Long> {
     
     Optional<Word> findByPalabra(String palabra);
     
-    @Query(value = "SELECT * FROM words WHERE utilizada = false ORDER BY RAND() LIMIT 1", nativeQuery = true)
-    Optional<Word> findRandomWord();
+    long countByUtilizadaFalse();
+    
+    // Reserva en una sola sentencia hasta :cantidad palabras libres o con la reserva vencida, a partir del id :desde.
+    // La tabla derivada extra evita la restricción de MySQL sobre LIMIT en subconsultas del UPDATE.
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE words SET reserva = :reserva, reservada_hasta = :hasta " +
+            "WHERE id IN (SELECT id FROM (SELECT w.id FROM words w WHERE w.id >= :desde AND w.utilizada = false " +
+            "AND (w.reservada_hasta IS NULL OR w.reservada_hasta < :ahora) ORDER BY w.id LIMIT :cantidad) libres) " +
+            "AND utilizada = false AND (reservada_hasta IS NULL OR reservada_hasta < :ahora)",
+            nativeQuery = true)
+    int reserveBlock(@Param("reserva") String reserva, @Param("hasta") LocalDateTime hasta,
+                     @Param("ahora") LocalDateTime ahora, @Param("desde") long desde, @Param("cantidad") int cantidad);
+    
+    @Query("SELECT COALESCE(MAX(w.id), 0) FROM Word w")
+    long findMaxId();
+    
+    // Solo id y palabra: el bloque entero se trae en una consulta y se entrega desde memoria
+    @Query("SELECT new com.example.demobase.model.Word(w.id, w.palabra, w.utilizada) FROM Word w " +
+            "WHERE w.reserva = :reserva AND w.utilizada = false")
+    List<Word> findReservedWords(@Param("reserva") String reserva);
+    
+    @Modifying
+    @Transactional
+    @Query("UPDATE Word w SET w.reserva = null, w.reservadaHasta = null WHERE w.reserva IN :reservas AND w.utilizada = false")
+    int releaseReservations(@Param("reservas") Collection<String> reservas);
+    
+    @Modifying
+    @Transactional
+    @Query("UPDATE Word w SET w.utilizada = true WHERE w.id IN :ids")
+    int markUsed(@Param("ids") Collection<Long> ids);
     
     @Query("SELECT w FROM Word w ORDER BY w.id")
-    java.util.List<Word> findAllOrdered();
+    List<Word> findAllOrdered();
 }
 
@@ -0,0 +1,41 @@
+package com.example.demobase.service;
+
+import com.example.demobase.dto.CacheStatsDTO;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Objects;
+
+@Service
+@RequiredArgsConstructor
+public class CacheStatsService {
+    
+    private final CacheManager cacheManager;
+    
+    // Solo las cachés de Caffeine llevan estadísticas
+    public List<CacheStatsDTO> getCacheStats() {
+        return cacheManager.getCacheNames().stream()
+                .sorted()
+                .map(cacheManager::getCache)
+                .filter(Objects::nonNull)
+                .filter(CaffeineCache.class::isInstance)
+                .map(cache -> toDTO((CaffeineCache) cache))
+                .toList();
+    }
+    
+    private CacheStatsDTO toDTO(CaffeineCache cache) {
+        CacheStats stats = cache.getNativeCache().stats();
+        return new CacheStatsDTO(
+                cache.getName(),
+                cache.getNativeCache().estimatedSize(),
+                stats.hitCount(),
+                stats.missCount(),
+                stats.hitRate(),
+                stats.evictionCount()
+        );
+    }
+}
@@ -0,0 +1,210 @@
+package com.example.demobase.service;
+
+import com.example.demobase.dto.DictionaryImportDTO;
+import com.example.demobase.game.Alphabet;
+import com.example.demobase.game.WordIndex;
+import com.example.demobase.store.WordCatalog;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPInputStream;
+
+// Carga de diccionarios de palabras: un archivo de texto (o gzip) con una palabra por línea
+// que se lee a medida que llega. Las palabras se normalizan, se validan y se descartan las
+// repetidas en memoria antes de insertarlas en lotes. Corre al iniciar la aplicación con
+// game.dictionary.path y desde el endpoint de administración.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DictionaryImportService {
+    
+    private static final String INSERT_SQL = "INSERT INTO words (palabra, utilizada) VALUES (?, false)";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ResourceLoader resourceLoader;
+    private final WordCatalog wordCatalog;
+    
+    @Value("${game.dictionary.path:}")
+    private String path = "";
+    
+    @Value("${game.dictionary.batch-size:1000}")
+    private int batchSize = 1000;
+    
+    @Value("${game.dictionary.min-length:10}")
+    private int minLength = 10;
+    
+    private final AtomicBoolean enCurso = new AtomicBoolean();
+    private volatile Importacion ultima;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (path == null || path.isBlank()) {
+            return;
+        }
+        // Sin diccionario la aplicación sigue con las palabras que ya estén en la base
+        try (InputStream in = resourceLoader.getResource(path).getInputStream()) {
+            importWords(in, path);
+        } catch (IOException | RuntimeException e) {
+            log.error("No se pudo cargar el diccionario {}", path, e);
+        }
+    }
+    
+    // Estado de la importación en curso o de la última que terminó
+    public Optional<DictionaryImportDTO> getProgress() {
+        Importacion importacion = ultima;
+        return importacion == null ? Optional.empty() : Optional.of(importacion.toDTO());
+    }
+    
+    public DictionaryImportDTO importWords(InputStream in, String origen) throws IOException {
+        if (!enCurso.compareAndSet(false, true)) {
+            throw new IllegalStateException("Ya hay una importación de diccionario en curso");
+        }
+        Importacion importacion = new Importacion(origen);
+        ultima = importacion;
+        try {
+            Set<String> conocidas = new HashSet<>(jdbcTemplate.queryForList("SELECT palabra FROM words", String.class));
+            BufferedReader reader = new BufferedReader(new InputStreamReader(decompress(in), StandardCharsets.UTF_8));
+            String linea;
+            while ((linea = reader.readLine()) != null) {
+                importacion.lineasLeidas++;
+                String palabra = linea.strip();
+                if (palabra.isEmpty() || palabra.startsWith("#")) {
+                    continue;
+                }
+                palabra = normalize(palabra);
+                if (palabra == null) {
+                    importacion.invalidas++;
+                } else if (!conocidas.add(palabra)) {
+                    importacion.duplicadas++;
+                } else {
+                    importacion.add(palabra);
+                }
+            }
+            importacion.flush();
+            importacion.terminar(null);
+            log.info("Diccionario {} cargado: {} palabras nuevas, {} repetidas, {} inválidas",
+                    origen, importacion.palabrasNuevas, importacion.duplicadas, importacion.invalidas);
+            return importacion.toDTO();
+        } catch (IOException | RuntimeException e) {
+            importacion.terminar(e.toString());
+            throw e;
+        } finally {
+            if (importacion.palabrasNuevas > 0) {
+                wordCatalog.invalidate();
+            }
+            enCurso.set(false);
+        }
+    }
+    
+    // Mayúsculas en forma compuesta (una Á y no A + tilde); null si no sirve para el juego
+    String normalize(String palabra) {
+        String normalizada = Normalizer.normalize(palabra, Normalizer.Form.NFC).toUpperCase(Locale.ROOT);
+        if (normalizada.length() < minLength || normalizada.length() > WordIndex.MAX_LENGTH) {
+            return null;
+        }
+        for (int i = 0; i < normalizada.length(); i++) {
+            if (!Alphabet.isLetter(normalizada.charAt(i))) {
+                return null;
+            }
+        }
+        return normalizada;
+    }
+    
+    // Los archivos gzip se reconocen por su encabezado, no por el nombre
+    private static InputStream decompress(InputStream in) throws IOException {
+        BufferedInputStream buffered = new BufferedInputStream(in);
+        buffered.mark(2);
+        int b1 = buffered.read();
+        int b2 = buffered.read();
+        buffered.reset();
+        if (b1 == 0x1f && b2 == 0x8b) {
+            return new GZIPInputStream(buffered, 64 * 1024);
+        }
+        return buffered;
+    }
+    
+    // Un solo hilo escribe los contadores; los volatile permiten leer el avance desde otra consulta
+    private final class Importacion {
+        
+        private final String origen;
+        private final LocalDateTime inicio = LocalDateTime.now();
+        private final List<String> lote = new ArrayList<>();
+        private volatile long lineasLeidas;
+        private volatile long palabrasNuevas;
+        private volatile long duplicadas;
+        private volatile long invalidas;
+        private volatile LocalDateTime fin;
+        private volatile String estado = "EN_CURSO";
+        private volatile String error;
+        
+        Importacion(String origen) {
+            this.origen = origen;
+        }
+        
+        void add(String palabra) {
+            lote.add(palabra);
+            if (lote.size() >= batchSize) {
+                flush();
+            }
+        }
+        
+        void flush() {
+            if (lote.isEmpty()) {
+                return;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status ->
+                        jdbcTemplate.batchUpdate(INSERT_SQL, lote, lote.size(), (ps, palabra) -> ps.setString(1, palabra)));
+                palabrasNuevas += lote.size();
+            } catch (DuplicateKeyException e) {
+                // Otra instancia cargó alguna de estas palabras mientras tanto, o la base las compara
+                // sin distinguir tildes (collation de MySQL): se insertan de a una
+                for (String palabra : lote) {
+                    try {
+                        jdbcTemplate.update(INSERT_SQL, palabra);
+                        palabrasNuevas++;
+                    } catch (DuplicateKeyException ex) {
+                        duplicadas++;
+                    }
+                }
+            }
+            lote.clear();
+            log.debug("Diccionario {}: {} líneas leídas, {} palabras nuevas", origen, lineasLeidas, palabrasNuevas);
+        }
+        
+        void terminar(String mensajeError) {
+            error = mensajeError;
+            fin = LocalDateTime.now();
+            estado = mensajeError == null ? "TERMINADA" : "FALLIDA";
+        }
+        
+        DictionaryImportDTO toDTO() {
+            return new DictionaryImportDTO(estado, origen, lineasLeidas, palabrasNuevas, duplicadas, invalidas,
+                    inicio, fin, error);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.demobase.service;
+
+import com.example.demobase.dto.GameDTO;
+import com.example.demobase.repository.GameRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+// Exporta el historial de partidas fila por fila: la memoria usada no depende del tamaño de la tabla
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class GameExportService {
+    
+    private final GameRepository gameRepository;
+    private final ObjectMapper objectMapper;
+    
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+        
+        private final String contentType;
+        private final String extension;
+        
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+        
+        public String getContentType() {
+            return contentType;
+        }
+        
+        public String getExtension() {
+            return extension;
+        }
+        
+        public static Format from(String value) {
+            try {
+                return Format.valueOf(value.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Formato de exportación no válido: " + value);
+            }
+        }
+    }
+    
+    private static final String CSV_HEADER = "id,idJugador,nombreJugador,resultado,puntaje,fechaPartida,palabra";
+    
+    // Se llama desde el hilo que escribe la respuesta; la transacción mantiene abierto el cursor
+    @Transactional(readOnly = true)
+    public long export(Format format, LocalDateTime desde, LocalDateTime hasta, Long playerId, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        long filas = 0;
+        if (format == Format.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+        try (Stream<GameDTO> games = gameRepository.streamForExport(desde, hasta, playerId)) {
+            for (GameDTO game : (Iterable<GameDTO>) games::iterator) {
+                if (format == Format.CSV) {
+                    writeCsv(writer, game);
+                } else {
+                    writer.write(objectMapper.writeValueAsString(game));
+                }
+                writer.write('\n');
+                filas++;
+            }
+        }
+        writer.flush();
+        log.info("Exportación {} terminada: {} partidas", format, filas);
+        return filas;
+    }
+    
+    private void writeCsv(Writer writer, GameDTO game) throws IOException {
+        writer.write(String.valueOf(game.getId()));
+        writer.write(',');
+        writer.write(String.valueOf(game.getIdJugador()));
+        writer.write(',');
+        writer.write(csvField(game.getNombreJugador()));
+        writer.write(',');
+        writer.write(csvField(game.getResultado()));
+        writer.write(',');
+        writer.write(String.valueOf(game.getPuntaje()));
+        writer.write(',');
+        writer.write(String.valueOf(game.getFechaPartida()));
+        writer.write(',');
+        writer.write(csvField(game.getPalabra()));
+    }
+    
+    // Comillas solo cuando hacen falta, duplicando las comillas internas (RFC 4180)
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
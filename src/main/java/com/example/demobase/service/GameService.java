@@ -1,228 +1,294 @@
 package com.example.demobase.service;
 
 import com.example.demobase.dto.GameDTO;
+import com.example.demobase.dto.GamePageDTO;
 import com.example.demobase.dto.GameResponseDTO;
-import com.example.demobase.model.Game;
+import com.example.demobase.game.Alphabet;
+import com.example.demobase.game.GameEngine;
+import com.example.demobase.game.GameState;
+import com.example.demobase.game.WordIndex;
+import com.example.demobase.metrics.GameMetrics;
 import com.example.demobase.model.GameInProgress;
 import com.example.demobase.model.Player;
 import com.example.demobase.model.Word;
-import com.example.demobase.repository.GameInProgressRepository;
 import com.example.demobase.repository.GameRepository;
-import com.example.demobase.repository.PlayerRepository;
-import com.example.demobase.repository.WordRepository;
+import com.example.demobase.store.ActiveGameStore;
+import com.example.demobase.store.GameCompletion;
+import com.example.demobase.store.GameCompletionQueue;
+import com.example.demobase.store.PlayerCache;
+import com.example.demobase.store.WordPool;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class GameService {
     
     private final GameRepository gameRepository;
-    private final GameInProgressRepository gameInProgressRepository;
-    private final PlayerRepository playerRepository;
-    private final WordRepository wordRepository;
+    private final PlayerCache playerCache;
+    private final ActiveGameStore activeGameStore;
+    private final WordPool wordPool;
+    private final GameCompletionQueue gameCompletionQueue;
+    private final GameEngine gameEngine;
+    private final GameMetrics gameMetrics;
     
-    private static final int MAX_INTENTOS = 7;
-    private static final int PUNTOS_PALABRA_COMPLETA = 20;
-    private static final int PUNTOS_POR_LETRA = 1;
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+    // Más letras que las del alfabeto solo pueden ser repetidas
+    private static final int MAX_LETRAS_POR_LOTE = Alphabet.SIZE;
     
-    @Transactional
+    // Sin transacción: la partida queda en memoria y la palabra se marca de forma diferida
     public GameResponseDTO startGame(Long playerId) {
+        long inicio = System.nanoTime();
+        boolean ok = false;
+        try {
+            GameResponseDTO response = doStartGame(playerId);
+            ok = true;
+            return response;
+        } finally {
+            gameMetrics.recordStart(System.nanoTime() - inicio, ok);
+        }
+    }
+    
+    private GameResponseDTO doStartGame(Long playerId) {
         // Validar que el jugador existe
-        Player player = playerRepository.findById(playerId)
+        Player player = playerCache.findById(playerId)
                 .orElseThrow(() -> new IllegalArgumentException("Jugador no encontrado con ID: " + playerId));
 
         // Verificar si ya existe una partida en curso para este jugador
-        if (!gameInProgressRepository.findByJugadorIdOrderByFechaInicioDesc(playerId).isEmpty()) {
+        if (activeGameStore.findByPlayer(playerId).isPresent()) {
             throw new IllegalStateException("El jugador ya tiene una partida en curso.");
         }
 
-        // Encontrar una palabra aleatoria no utilizada
-        Word word = wordRepository.findRandomWord()
+        // Tomar una palabra aleatoria no utilizada (queda marcada como utilizada)
+        Word word = wordPool.claim()
                 .orElseThrow(() -> new IllegalStateException("No hay palabras disponibles para jugar."));
 
-        // Marcar la palabra como utilizada
-        word.setUtilizada(true);
-        wordRepository.save(word);
-
         // Crear nueva partida en curso
+        GameState inicial = gameEngine.start(word.getIndex());
         GameInProgress newGame = new GameInProgress();
         newGame.setJugador(player);
         newGame.setPalabra(word);
-        newGame.setLetrasIntentadas("");
-        newGame.setIntentosRestantes(MAX_INTENTOS);
+        newGame.setLetrasIntentadasMask(inicial.letrasIntentadas());
+        newGame.setPosicionesReveladas(inicial.posicionesReveladas());
+        newGame.setIntentosRestantes(inicial.intentosRestantes());
         newGame.setFechaInicio(LocalDateTime.now());
-        gameInProgressRepository.save(newGame);
+        if (!activeGameStore.putIfAbsent(newGame)) {
+            throw new IllegalStateException("El jugador ya tiene una partida en curso.");
+        }
 
         return buildResponseFromGameInProgress(newGame);
     }
     
-    @Transactional
+    // Sin transacción: el intento no escribe en la base y así no retiene una conexión del pool.
+    // Solo el que termina la partida la guarda, en una transacción corta propia
     public GameResponseDTO makeGuess(Long playerId, Character letra) {
-        // Buscar la partida en curso más reciente del jugador
-        GameInProgress gameInProgress = gameInProgressRepository.findByJugadorIdOrderByFechaInicioDesc(playerId)
-                .stream()
-                .findFirst()
-                .orElseThrow(() -> new IllegalStateException("No hay partida en curso para el jugador con ID: " + playerId));
-
-        // Convertir la letra a mayúscula
-        letra = Character.toUpperCase(letra);
+        long inicio = System.nanoTime();
+        boolean ok = false;
+        try {
+            GameResponseDTO response = doMakeGuess(playerId, letra);
+            ok = true;
+            return response;
+        } finally {
+            gameMetrics.recordGuess(System.nanoTime() - inicio, ok);
+        }
+    }
+    
+    private GameResponseDTO doMakeGuess(Long playerId, Character letra) {
+        // Buscar la partida en curso del jugador
+        GameInProgress gameInProgress = findActiveGame(playerId);
 
-        // Obtener letras ya intentadas
-        Set<Character> letrasIntentadas = stringToCharSet(gameInProgress.getLetrasIntentadas());
+        // Los intentos de un mismo jugador se aplican de a uno
+        gameInProgress.getLock().lock();
+        try {
+            // Otro intento concurrente pudo haber terminado la partida
+            if (activeGameStore.findByPlayer(playerId).orElse(null) != gameInProgress) {
+                throw new IllegalStateException("No hay partida en curso para el jugador con ID: " + playerId);
+            }
+            return applyGuess(gameInProgress, letra);
+        } finally {
+            gameInProgress.getLock().unlock();
+        }
+    }
 
-        // Verificar si la letra ya fue intentada
-        if (letrasIntentadas.contains(letra)) {
-            // Si ya se intentó, no hacer nada y devolver el estado actual
-            return buildResponseFromGameInProgress(gameInProgress);
+    // Aplica varias letras en orden sobre la partida; se detiene si la partida termina.
+    // Devuelve el estado después de cada letra aplicada, o solo el último si soloFinal.
+    public List<GameResponseDTO> makeGuesses(Long playerId, List<Character> letras, boolean soloFinal) {
+        if (letras == null || letras.isEmpty()) {
+            throw new IllegalArgumentException("Debe enviar al menos una letra");
+        }
+        if (letras.size() > MAX_LETRAS_POR_LOTE) {
+            throw new IllegalArgumentException("Se pueden enviar hasta " + MAX_LETRAS_POR_LOTE + " letras por intento");
+        }
+        // Se validan todas antes de aplicar ninguna: una letra inválida no deja el lote a medias
+        for (Character letra : letras) {
+            if (letra == null || !Alphabet.isLetter(Character.toUpperCase(letra))) {
+                throw new IllegalArgumentException("Letra no válida: " + letra);
+            }
+        }
+        
+        GameInProgress gameInProgress = findActiveGame(playerId);
+        gameInProgress.getLock().lock();
+        try {
+            if (activeGameStore.findByPlayer(playerId).orElse(null) != gameInProgress) {
+                throw new IllegalStateException("No hay partida en curso para el jugador con ID: " + playerId);
+            }
+            List<GameResponseDTO> estados = new ArrayList<>(soloFinal ? 1 : letras.size());
+            GameResponseDTO estado = null;
+            for (Character letra : letras) {
+                estado = applyGuess(gameInProgress, letra);
+                if (!soloFinal) {
+                    estados.add(estado);
+                }
+                if (estado.getPalabraCompleta() || estado.getIntentosRestantes() <= 0) {
+                    break;
+                }
+            }
+            if (soloFinal) {
+                estados.add(estado);
+            }
+            return estados;
+        } finally {
+            gameInProgress.getLock().unlock();
         }
+    }
+
+    private GameInProgress findActiveGame(Long playerId) {
+        return activeGameStore.findByPlayer(playerId)
+                .orElseThrow(() -> new IllegalStateException("No hay partida en curso para el jugador con ID: " + playerId));
+    }
 
-        // Agregar la nueva letra
-        letrasIntentadas.add(letra);
-        gameInProgress.setLetrasIntentadas(charSetToString(letrasIntentadas));
+    private GameResponseDTO applyGuess(GameInProgress gameInProgress, Character letra) {
+        WordIndex palabraSecreta = gameInProgress.getPalabra().getIndex();
+        GameState estado = state(gameInProgress);
+        GameState siguiente = gameEngine.guess(palabraSecreta, estado, letra);
 
-        // Verificar si la letra está en la palabra y decrementar intentos si es incorrecta
-        String palabraSecreta = gameInProgress.getPalabra().getPalabra().toUpperCase();
-        if (!palabraSecreta.contains(String.valueOf(letra))) {
-            gameInProgress.setIntentosRestantes(gameInProgress.getIntentosRestantes() - 1);
+        // Si ya se intentó, no hacer nada y devolver el estado actual
+        if (siguiente == estado) {
+            return buildResponse(palabraSecreta, estado);
         }
 
-        // Verificar condiciones de fin de juego
-        String palabraOcultaActual = generateHiddenWord(palabraSecreta, letrasIntentadas);
-        boolean juegoGanado = palabraOcultaActual.equals(palabraSecreta);
-        boolean juegoPerdido = gameInProgress.getIntentosRestantes() <= 0;
-
         // Si el juego terminó
-        if (juegoGanado || juegoPerdido) {
-            int puntaje = calculateScore(palabraSecreta, letrasIntentadas, juegoGanado, gameInProgress.getIntentosRestantes());
-            saveGame(gameInProgress.getJugador(), gameInProgress.getPalabra(), juegoGanado, puntaje);
-            gameInProgressRepository.delete(gameInProgress);
+        if (gameEngine.isOver(palabraSecreta, siguiente)) {
+            boolean juegoGanado = gameEngine.isWon(palabraSecreta, siguiente);
+            int puntaje = gameEngine.score(palabraSecreta, siguiente);
+            // Se guarda antes de cambiar la partida en memoria: si falla, sigue como estaba y el
+            // intento se puede repetir. El historial y los totales se escriben después, en lotes
+            finish(gameInProgress, juegoGanado, puntaje);
+            applyState(gameInProgress, siguiente);
+            activeGameStore.remove(gameInProgress);
+            gameMetrics.gameFinished(juegoGanado);
 
             // Construir respuesta final
             GameResponseDTO finalResponse = new GameResponseDTO();
-            finalResponse.setPalabraOculta(palabraSecreta); // Revelar la palabra al final
-            finalResponse.setLetrasIntentadas(new ArrayList<>(letrasIntentadas));
-            finalResponse.setIntentosRestantes(gameInProgress.getIntentosRestantes());
+            finalResponse.setPalabraOculta(palabraSecreta.getPalabra()); // Revelar la palabra al final
+            finalResponse.setLetrasIntentadas(Alphabet.toList(siguiente.letrasIntentadas()));
+            finalResponse.setIntentosRestantes(siguiente.intentosRestantes());
             finalResponse.setPalabraCompleta(juegoGanado);
             finalResponse.setPuntajeAcumulado(puntaje);
             return finalResponse;
 
         } else {
-            // Si el juego no terminó, guardar el estado actualizado
-            gameInProgressRepository.save(gameInProgress);
-            return buildResponseFromGameInProgress(gameInProgress);
+            // Si el juego no terminó, marcar el estado para el próximo volcado
+            applyState(gameInProgress, siguiente);
+            activeGameStore.save(gameInProgress);
+            return buildResponse(palabraSecreta, siguiente);
+        }
+    }
+    
+    private void finish(GameInProgress gameInProgress, boolean juegoGanado, int puntaje) {
+        gameInProgress.setTerminada(true);
+        try {
+            gameCompletionQueue.submit(GameCompletion.of(gameInProgress, juegoGanado, puntaje));
+        } catch (RuntimeException e) {
+            gameInProgress.setTerminada(false);
+            throw e;
         }
     }
     
+    private void applyState(GameInProgress gameInProgress, GameState estado) {
+        gameInProgress.setLetrasIntentadasMask(estado.letrasIntentadas());
+        gameInProgress.setPosicionesReveladas(estado.posicionesReveladas());
+        gameInProgress.setIntentosRestantes(estado.intentosRestantes());
+    }
+    
     private GameResponseDTO buildResponseFromGameInProgress(GameInProgress gameInProgress) {
-        String palabra = gameInProgress.getPalabra().getPalabra().toUpperCase();
-        Set<Character> letrasIntentadas = stringToCharSet(gameInProgress.getLetrasIntentadas());
-        String palabraOculta = generateHiddenWord(palabra, letrasIntentadas);
-        boolean palabraCompleta = palabraOculta.equals(palabra);
-        
+        return buildResponse(gameInProgress.getPalabra().getIndex(), state(gameInProgress));
+    }
+    
+    private GameResponseDTO buildResponse(WordIndex palabra, GameState estado) {
         GameResponseDTO response = new GameResponseDTO();
-        response.setPalabraOculta(palabraOculta);
-        response.setLetrasIntentadas(new ArrayList<>(letrasIntentadas));
-        response.setIntentosRestantes(gameInProgress.getIntentosRestantes());
-        response.setPalabraCompleta(palabraCompleta);
-        
-        int puntaje = calculateScore(palabra, letrasIntentadas, palabraCompleta, gameInProgress.getIntentosRestantes());
-        response.setPuntajeAcumulado(puntaje);
-        
+        response.setPalabraOcultaDiferida(() -> gameEngine.hiddenWord(palabra, estado));
+        response.setLetrasIntentadas(Alphabet.toList(estado.letrasIntentadas()));
+        response.setIntentosRestantes(estado.intentosRestantes());
+        response.setPalabraCompleta(gameEngine.isWon(palabra, estado));
+        response.setPuntajeAcumulado(gameEngine.score(palabra, estado));
         return response;
     }
     
-    private Set<Character> stringToCharSet(String str) {
-        Set<Character> set = new HashSet<>();
-        if (str != null && !str.isEmpty()) {
-            String[] chars = str.split(",");
-            for (String c : chars) {
-                if (!c.trim().isEmpty()) {
-                    set.add(c.trim().charAt(0));
-                }
-            }
+    private GameState state(GameInProgress gameInProgress) {
+        return new GameState(gameInProgress.getLetrasIntentadasMask(), revealedPositions(gameInProgress),
+                gameInProgress.getIntentosRestantes());
+    }
+    
+    // Las partidas recuperadas de la base no traen la máscara: se arma una vez desde las letras
+    private long revealedPositions(GameInProgress gameInProgress) {
+        Long posicionesReveladas = gameInProgress.getPosicionesReveladas();
+        if (posicionesReveladas == null) {
+            posicionesReveladas = gameInProgress.getPalabra().getIndex()
+                    .revealedBy(gameInProgress.getLetrasIntentadasMask());
+            gameInProgress.setPosicionesReveladas(posicionesReveladas);
         }
-        return set;
+        return posicionesReveladas;
     }
     
-    private String charSetToString(Set<Character> set) {
-        if (set == null || set.isEmpty()) {
-            return "";
+    public GamePageDTO getGamesByPlayer(Long playerId, String cursor, Integer size) {
+        int pageSize = pageSize(size);
+        // Se pide una fila de más para saber si hay otra página
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        List<GameDTO> games;
+        if (cursor == null || cursor.isBlank()) {
+            games = gameRepository.findFirstPageByJugadorId(playerId, limit);
+        } else {
+            GameCursor after = GameCursor.decode(cursor);
+            games = gameRepository.findPageByJugadorIdAfter(playerId, after.fechaPartida(), after.id(), limit);
         }
-        return set.stream()
-                .map(String::valueOf)
-                .collect(Collectors.joining(","));
+        return toPage(games, pageSize);
     }
     
-    private int calculateScore(String palabra, Set<Character> letrasIntentadas, boolean palabraCompleta, int intentosRestantes) {
-        if (palabraCompleta) {
-            return PUNTOS_PALABRA_COMPLETA;
-        } else if (intentosRestantes == 0) {
-            // Contar letras correctas encontradas
-            long letrasCorrectas = letrasIntentadas.stream()
-                    .filter(letra -> palabra.indexOf(letra) >= 0)
-                    .count();
-            return (int) (letrasCorrectas * PUNTOS_POR_LETRA);
+    public GamePageDTO getAllGames(String cursor, Integer size) {
+        int pageSize = pageSize(size);
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        List<GameDTO> games;
+        if (cursor == null || cursor.isBlank()) {
+            games = gameRepository.findFirstPage(limit);
+        } else {
+            GameCursor after = GameCursor.decode(cursor);
+            games = gameRepository.findPageAfter(after.fechaPartida(), after.id(), limit);
         }
-        return 0;
+        return toPage(games, pageSize);
     }
     
-    private String generateHiddenWord(String palabra, Set<Character> letrasIntentadas) {
-        StringBuilder hidden = new StringBuilder();
-        for (char c : palabra.toCharArray()) {
-            if (letrasIntentadas.contains(c) || c == ' ') {
-                hidden.append(c);
-            } else {
-                hidden.append('_');
-            }
+    private int pageSize(Integer size) {
+        if (size == null) {
+            return DEFAULT_PAGE_SIZE;
         }
-        return hidden.toString();
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
     }
     
-    @Transactional
-    private void saveGame(Player player, Word word, boolean ganado, int puntaje) {
-        // Asegurar que la palabra esté marcada como utilizada
-        if (!word.getUtilizada()) {
-            word.setUtilizada(true);
-            wordRepository.save(word);
+    private GamePageDTO toPage(List<GameDTO> games, int pageSize) {
+        boolean hayMas = games.size() > pageSize;
+        List<GameDTO> pagina = hayMas ? new ArrayList<>(games.subList(0, pageSize)) : games;
+        String siguienteCursor = null;
+        if (hayMas) {
+            GameDTO ultima = pagina.get(pagina.size() - 1);
+            siguienteCursor = new GameCursor(ultima.getFechaPartida(), ultima.getId()).encode();
         }
-        
-        Game game = new Game();
-        game.setJugador(player);
-        game.setPalabra(word);
-        game.setResultado(ganado ? "GANADO" : "PERDIDO");
-        game.setPuntaje(puntaje);
-        game.setFechaPartida(LocalDateTime.now());
-        gameRepository.save(game);
-    }
-    
-    public List<GameDTO> getGamesByPlayer(Long playerId) {
-        return gameRepository.findByJugadorId(playerId).stream()
-                .map(this::toDTO)
-                .collect(Collectors.toList());
-    }
-    
-    public List<GameDTO> getAllGames() {
-        return gameRepository.findAll().stream()
-                .map(this::toDTO)
-                .collect(Collectors.toList());
-    }
-    
-    private GameDTO toDTO(Game game) {
-        GameDTO dto = new GameDTO();
-        dto.setId(game.getId());
-        dto.setIdJugador(game.getJugador().getId());
-        dto.setNombreJugador(game.getJugador().getNombre());
-        dto.setResultado(game.getResultado());
-        dto.setPuntaje(game.getPuntaje());
-        dto.setFechaPartida(game.getFechaPartida());
-        dto.setPalabra(game.getPalabra() != null ? game.getPalabra().getPalabra() : null);
-        return dto;
+        return new GamePageDTO(pagina, siguienteCursor);
     }
 }
-
@@ -0,0 +1,277 @@
+package com.example.demobase.service;
+
+import com.example.demobase.dto.ImportErrorDTO;
+import com.example.demobase.dto.ImportResultDTO;
+import com.example.demobase.store.DataVersion;
+import com.example.demobase.store.Leaderboard;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+// Alta masiva de jugadores desde un arreglo JSON o un CSV que se leen a medida que llegan.
+// Se insertan con batches JDBC de game.players.import.chunk-size filas, cada lote en su
+// propia transacción: una fila con error no descarta las demás.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PlayerImportService {
+    
+    private static final String INSERT_SQL = "INSERT INTO players (nombre, fecha) VALUES (?, ?)";
+    private static final int MAX_NOMBRE = 255;
+    // La respuesta no crece sin límite si el archivo entero es inválido
+    private static final int MAX_ERRORES = 1000;
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Leaderboard leaderboard;
+    private final DataVersion dataVersion;
+    
+    @Value("${game.players.import.chunk-size:1000}")
+    private int chunkSize = 1000;
+    
+    public enum Format {
+        JSON,
+        CSV;
+        
+        public static Format fromContentType(String contentType) {
+            String tipo = contentType == null ? "" : contentType.toLowerCase(Locale.ROOT);
+            if (tipo.contains("csv")) {
+                return CSV;
+            }
+            if (tipo.contains("json")) {
+                return JSON;
+            }
+            throw new IllegalArgumentException("Tipo de contenido no soportado para importar jugadores: " + contentType);
+        }
+    }
+    
+    private record Fila(long numero, String nombre, LocalDate fecha) {
+    }
+    
+    public ImportResultDTO importPlayers(Format format, InputStream in) throws IOException {
+        Importacion importacion = new Importacion();
+        if (format == Format.CSV) {
+            readCsv(in, importacion);
+        } else {
+            readJson(in, importacion);
+        }
+        importacion.flush();
+        
+        if (importacion.importados > 0) {
+            // Los jugadores nuevos aparecen en la grilla con todo en 0
+            leaderboard.invalidate();
+            dataVersion.playersChanged();
+        }
+        log.info("Importación de jugadores: {} recibidos, {} importados, {} rechazados",
+                importacion.recibidos, importacion.importados, importacion.rechazados);
+        return importacion.resultado();
+    }
+    
+    private void readJson(InputStream in, Importacion importacion) throws IOException {
+        try (JsonParser parser = objectMapper.createParser(in)) {
+            try {
+                if (parser.nextToken() != JsonToken.START_ARRAY) {
+                    throw new IllegalArgumentException("Se esperaba un arreglo JSON de jugadores");
+                }
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("JSON mal formado: " + e.getOriginalMessage());
+            }
+            long numero = 1;
+            try {
+                // Se arma un árbol por elemento: el arreglo completo nunca está en memoria
+                for (JsonToken token = parser.nextToken(); token != JsonToken.END_ARRAY; token = parser.nextToken(), numero++) {
+                    if (token == null) {
+                        importacion.rechazar(numero, "JSON incompleto: falta el cierre del arreglo");
+                        return;
+                    }
+                    JsonNode node = parser.readValueAsTree();
+                    if (node == null || !node.isObject()) {
+                        importacion.rechazar(numero, "Se esperaba un objeto con nombre y fecha");
+                        continue;
+                    }
+                    importacion.fila(numero, text(node, "nombre"), text(node, "fecha"));
+                }
+            } catch (JsonProcessingException e) {
+                // No se puede seguir leyendo; lo anterior ya quedó en lotes
+                importacion.rechazar(numero, "JSON mal formado: " + e.getOriginalMessage());
+            }
+        }
+    }
+    
+    private static String text(JsonNode node, String campo) {
+        JsonNode valor = node.get(campo);
+        return valor == null || valor.isNull() ? null : valor.asText();
+    }
+    
+    private void readCsv(InputStream in, Importacion importacion) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String encabezado = reader.readLine();
+        if (encabezado == null) {
+            return;
+        }
+        if (encabezado.startsWith("\uFEFF")) {
+            encabezado = encabezado.substring(1);
+        }
+        List<String> columnas = parseCsvLine(encabezado);
+        if (columnas == null) {
+            throw new IllegalArgumentException("Encabezado CSV no válido");
+        }
+        columnas.replaceAll(columna -> columna.trim().toLowerCase(Locale.ROOT));
+        int columnaNombre = columnas.indexOf("nombre");
+        int columnaFecha = columnas.indexOf("fecha");
+        if (columnaNombre < 0) {
+            throw new IllegalArgumentException("El CSV debe tener una columna nombre");
+        }
+        
+        long numero = 0;
+        String linea;
+        while ((linea = reader.readLine()) != null) {
+            numero++;
+            if (linea.isBlank()) {
+                continue;
+            }
+            List<String> campos = parseCsvLine(linea);
+            if (campos == null) {
+                importacion.rechazar(numero, "Comillas sin cerrar");
+                continue;
+            }
+            importacion.fila(numero, campo(campos, columnaNombre), campo(campos, columnaFecha));
+        }
+    }
+    
+    private static String campo(List<String> campos, int columna) {
+        return columna >= 0 && columna < campos.size() ? campos.get(columna) : null;
+    }
+    
+    // Campos separados por coma, entre comillas si hace falta y con "" para una comilla (RFC 4180).
+    // Devuelve null si quedan comillas sin cerrar.
+    static List<String> parseCsvLine(String linea) {
+        List<String> campos = new ArrayList<>();
+        StringBuilder campo = new StringBuilder();
+        boolean entreComillas = false;
+        for (int i = 0; i < linea.length(); i++) {
+            char c = linea.charAt(i);
+            if (entreComillas) {
+                if (c != '"') {
+                    campo.append(c);
+                } else if (i + 1 < linea.length() && linea.charAt(i + 1) == '"') {
+                    campo.append('"');
+                    i++;
+                } else {
+                    entreComillas = false;
+                }
+            } else if (c == '"') {
+                entreComillas = true;
+            } else if (c == ',') {
+                campos.add(campo.toString());
+                campo.setLength(0);
+            } else {
+                campo.append(c);
+            }
+        }
+        if (entreComillas) {
+            return null;
+        }
+        campos.add(campo.toString());
+        return campos;
+    }
+    
+    // Acumula las filas válidas y las inserta de a chunkSize
+    private final class Importacion {
+        
+        private final List<Fila> lote = new ArrayList<>();
+        private final List<ImportErrorDTO> errores = new ArrayList<>();
+        private long recibidos;
+        private long importados;
+        private long rechazados;
+        
+        void fila(long numero, String nombre, String fecha) {
+            recibidos++;
+            if (nombre == null || nombre.isBlank()) {
+                error(numero, "El nombre es obligatorio");
+                return;
+            }
+            nombre = nombre.trim();
+            if (nombre.length() > MAX_NOMBRE) {
+                error(numero, "El nombre supera los " + MAX_NOMBRE + " caracteres");
+                return;
+            }
+            LocalDate dia;
+            try {
+                // Sin fecha se usa la de hoy, como en el alta individual
+                dia = fecha == null || fecha.isBlank() ? LocalDate.now() : LocalDate.parse(fecha.trim());
+            } catch (DateTimeParseException e) {
+                error(numero, "Fecha no válida: " + fecha + " (se espera AAAA-MM-DD)");
+                return;
+            }
+            lote.add(new Fila(numero, nombre, dia));
+            if (lote.size() >= chunkSize) {
+                flush();
+            }
+        }
+        
+        // Fila que ni siquiera se pudo leer
+        void rechazar(long numero, String mensaje) {
+            recibidos++;
+            error(numero, mensaje);
+        }
+        
+        void flush() {
+            if (lote.isEmpty()) {
+                return;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SQL, lote, lote.size(),
+                        (ps, fila) -> {
+                            ps.setString(1, fila.nombre());
+                            ps.setObject(2, fila.fecha());
+                        }));
+                importados += lote.size();
+            } catch (DataAccessException e) {
+                // El lote se deshizo entero: se reintenta de a una fila para saber cuáles fallan
+                log.warn("Falló un lote de {} jugadores, se reintenta fila por fila: {}", lote.size(), e.getMessage());
+                for (Fila fila : lote) {
+                    try {
+                        jdbcTemplate.update(INSERT_SQL, fila.nombre(), fila.fecha());
+                        importados++;
+                    } catch (DataAccessException ex) {
+                        error(fila.numero(), "No se pudo guardar: " + ex.getMostSpecificCause().getMessage());
+                    }
+                }
+            }
+            lote.clear();
+        }
+        
+        private void error(long numero, String mensaje) {
+            rechazados++;
+            if (errores.size() < MAX_ERRORES) {
+                errores.add(new ImportErrorDTO(numero, mensaje));
+            }
+        }
+        
+        ImportResultDTO resultado() {
+            return new ImportResultDTO(recibidos, importados, rechazados, errores);
+        }
+    }
+}
@@ -3,6 +3,9 @@ package com.example.demobase.service;
 import com.example.demobase.dto.PlayerDTO;
 import com.example.demobase.model.Player;
 import com.example.demobase.repository.PlayerRepository;
+import com.example.demobase.store.DataVersion;
+import com.example.demobase.store.Leaderboard;
+import com.example.demobase.store.PlayerCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -16,6 +19,9 @@ import java.util.stream.Collectors;
 public class PlayerService {
     
     private final PlayerRepository playerRepository;
+    private final PlayerCache playerCache;
+    private final Leaderboard leaderboard;
+    private final DataVersion dataVersion;
     
     public List<PlayerDTO> getAllPlayers() {
         return playerRepository.findAll().stream()
@@ -24,7 +30,7 @@ public class PlayerService {
     }
     
     public PlayerDTO getPlayerById(Long id) {
-        Player player = playerRepository.findById(id)
+        Player player = playerCache.findById(id)
                 .orElseThrow(() -> new RuntimeException("Jugador no encontrado con id: " + id));
         return toDTO(player);
     }
@@ -36,6 +42,8 @@ public class PlayerService {
         }
         Player player = toEntity(playerDTO);
         Player saved = playerRepository.save(player);
+        leaderboard.playerSaved(saved.getId(), saved.getNombre());
+        dataVersion.playersChanged();
         return toDTO(saved);
     }
     
@@ -50,6 +58,9 @@ public class PlayerService {
         }
         
         Player updated = playerRepository.save(player);
+        playerCache.evict(id);
+        leaderboard.playerSaved(updated.getId(), updated.getNombre());
+        dataVersion.playersChanged();
         return toDTO(updated);
     }
     
@@ -59,6 +70,9 @@ public class PlayerService {
             throw new RuntimeException("Jugador no encontrado con id: " + id);
         }
         playerRepository.deleteById(id);
+        playerCache.evict(id);
+        leaderboard.playerRemoved(id);
+        dataVersion.playersChanged();
     }
     
     private PlayerDTO toDTO(Player player) {
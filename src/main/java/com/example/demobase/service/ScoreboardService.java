@@ -1,59 +1,56 @@
 package com.example.demobase.service;
 
+import com.example.demobase.dto.RankDTO;
 import com.example.demobase.dto.ScoreboardDTO;
-import com.example.demobase.model.Game;
-import com.example.demobase.model.Player;
-import com.example.demobase.repository.GameRepository;
-import com.example.demobase.repository.PlayerRepository;
+import com.example.demobase.repository.PlayerStatsRepository;
+import com.example.demobase.store.DataVersion;
+import com.example.demobase.store.Leaderboard;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class ScoreboardService {
     
-    private final PlayerRepository playerRepository;
-    private final GameRepository gameRepository;
+    private final PlayerStatsRepository playerStatsRepository;
+    private final Leaderboard leaderboard;
+    private final DataVersion dataVersion;
+    
+    private static final int MAX_TOP = 1000;
     
     public List<ScoreboardDTO> getScoreboard() {
-        return playerRepository.findAll().stream()
-                .map(this::calculatePlayerStats)
-                .sorted((a, b) -> b.getPuntajeTotal().compareTo(a.getPuntajeTotal()))
-                .collect(Collectors.toList());
+        return playerStatsRepository.findScoreboard();
     }
     
     public ScoreboardDTO getScoreboardByPlayer(Long playerId) {
-        Player player = playerRepository.findById(playerId)
+        return playerStatsRepository.findScoreboardByPlayer(playerId)
                 .orElseThrow(() -> new RuntimeException("Jugador no encontrado con id: " + playerId));
-        return calculatePlayerStats(player);
     }
     
-    private ScoreboardDTO calculatePlayerStats(Player player) {
-        List<Game> games = gameRepository.findByJugador(player);
-        
-        int puntajeTotal = games.stream()
-                .mapToInt(Game::getPuntaje)
-                .sum();
-        
-        long partidasGanadas = games.stream()
-                .filter(g -> "GANADO".equals(g.getResultado()))
-                .count();
-        
-        long partidasPerdidas = games.stream()
-                .filter(g -> "PERDIDO".equals(g.getResultado()))
-                .count();
-        
-        return new ScoreboardDTO(
-                player.getId(),
-                player.getNombre(),
-                puntajeTotal,
-                (long) games.size(),
-                partidasGanadas,
-                partidasPerdidas
-        );
+    // Se responden desde la grilla en memoria, sin consultar la base
+    public List<ScoreboardDTO> getTop(int k) {
+        return leaderboard.top(Math.max(1, Math.min(k, MAX_TOP)));
+    }
+    
+    public RankDTO getRankByPlayer(Long playerId) {
+        return leaderboard.rankOf(playerId)
+                .orElseThrow(() -> new RuntimeException("Jugador no encontrado con id: " + playerId));
+    }
+    
+    // Vuelve a calcular player_stats desde el historial de partidas.
+    // Las partidas que terminen mientras corre pueden quedar sin contar: conviene ejecutarlo sin tráfico.
+    @Transactional
+    public int rebuildPlayerStats() {
+        playerStatsRepository.deleteAllInBatch();
+        int jugadores = playerStatsRepository.rebuildFromGames();
+        leaderboard.invalidate();
+        dataVersion.scoresChanged();
+        log.info("Estadísticas recalculadas para {} jugadores", jugadores);
+        return jugadores;
     }
 }
-
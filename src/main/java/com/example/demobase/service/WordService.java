@@ -1,28 +1,17 @@
 package com.example.demobase.service;
 
-import com.example.demobase.dto.WordDTO;
-import com.example.demobase.model.Word;
-import com.example.demobase.repository.WordRepository;
+import com.example.demobase.store.WordCatalog;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
-import java.util.stream.Collectors;
-
 @Service
 @RequiredArgsConstructor
 public class WordService {
     
-    private final WordRepository wordRepository;
-    
-    public List<WordDTO> getAllWords() {
-        return wordRepository.findAllOrdered().stream()
-                .map(this::toDTO)
-                .collect(Collectors.toList());
-    }
+    private final WordCatalog wordCatalog;
     
-    private WordDTO toDTO(Word word) {
-        return new WordDTO(word.getId(), word.getPalabra(), word.getUtilizada());
+    // Lista ya serializada, con su ETag; solo se vuelve a leer la base cuando cambia alguna palabra
+    public WordCatalog.Snapshot getCatalog() {
+        return wordCatalog.snapshot();
     }
 }
-
@@ -0,0 +1,27 @@
+package com.example.demobase.store;
+
+import com.example.demobase.model.GameInProgress;
+
+import java.util.Optional;
+
+// Almacén de partidas en curso, indexadas por jugador
+public interface ActiveGameStore {
+
+    Optional<GameInProgress> findByPlayer(Long playerId);
+
+    // Registra una partida nueva y la inserta en la base; devuelve false si el jugador ya tenía una
+    // en curso, en este nodo o en otra instancia
+    boolean putIfAbsent(GameInProgress game);
+
+    // Marca la partida como modificada para que se persista en el próximo volcado
+    void save(GameInProgress game);
+
+    // Quita la partida terminada; su fila de games_in_progress ya la borró GameCompletionQueue
+    // al guardarla
+    void remove(GameInProgress game);
+
+    // Escribe en la base todas las partidas modificadas pendientes
+    void flush();
+
+    int size();
+}
@@ -0,0 +1,83 @@
+package com.example.demobase.store;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+// Versión de los datos que muestran la grilla y la lista de jugadores, para responder
+// consultas condicionales (ETag / Last-Modified) sin ir a la base. Sube al confirmar
+// cada partida terminada o cambio de jugador. Como no ve lo que confirman otras
+// instancias, también sube sola cada game.data-version.refresh-interval-ms.
+@Component
+public class DataVersion {
+
+    public record Tag(String etag, long lastModified) {
+    }
+
+    private record Marca(long version, long modificado) {
+
+        // Last-Modified tiene precisión de segundos
+        static Marca inicial() {
+            return new Marca(0, segundos(System.currentTimeMillis()));
+        }
+
+        Marca siguiente() {
+            return new Marca(version + 1, Math.max(modificado, segundos(System.currentTimeMillis())));
+        }
+
+        private static long segundos(long millis) {
+            return millis - millis % 1000;
+        }
+    }
+
+    // Distingue los ETag de este arranque de los de arranques anteriores u otras instancias
+    private final String arranque = Long.toString(System.currentTimeMillis(), 36);
+
+    private final AtomicReference<Marca> jugadores = new AtomicReference<>(Marca.inicial());
+    private final AtomicReference<Marca> puntajes = new AtomicReference<>(Marca.inicial());
+
+    public Tag players() {
+        Marca j = jugadores.get();
+        return new Tag("\"" + arranque + "-" + j.version() + "\"", j.modificado());
+    }
+
+    // La grilla muestra los nombres de los jugadores: cambia con cualquiera de los dos
+    public Tag scoreboard() {
+        Marca j = jugadores.get();
+        Marca p = puntajes.get();
+        return new Tag("\"" + arranque + "-" + p.version() + "-" + j.version() + "\"",
+                Math.max(j.modificado(), p.modificado()));
+    }
+
+    public void playersChanged() {
+        afterCommit(() -> jugadores.updateAndGet(Marca::siguiente));
+    }
+
+    public void scoresChanged() {
+        afterCommit(() -> puntajes.updateAndGet(Marca::siguiente));
+    }
+
+    @Scheduled(fixedDelayString = "${game.data-version.refresh-interval-ms:60000}",
+            initialDelayString = "${game.data-version.refresh-interval-ms:60000}")
+    public void refresh() {
+        jugadores.updateAndGet(Marca::siguiente);
+        puntajes.updateAndGet(Marca::siguiente);
+    }
+
+    // Antes del commit un cliente podría leer los datos viejos con la versión nueva
+    private static void afterCommit(Runnable accion) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    accion.run();
+                }
+            });
+        } else {
+            accion.run();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.demobase.store;
+
+import com.example.demobase.model.FinishedGame;
+import com.example.demobase.model.GameInProgress;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Partida terminada que espera pasar al historial. idPartida es la fila de games_in_progress que
+// se borra al guardarla; es null si la partida todavía no se había volcado. palabraUtilizada indica
+// si la palabra ya figuraba como utilizada al terminar: si no, el escritor la marca.
+public record GameCompletion(String evento, Long idPartida, Long idJugador, String nombreJugador, Long idPalabra,
+                             boolean palabraUtilizada, boolean ganado, int puntaje, LocalDateTime fechaPartida) {
+
+    public static GameCompletion of(GameInProgress partida, boolean ganado, int puntaje) {
+        return new GameCompletion(UUID.randomUUID().toString(), partida.getId(),
+                partida.getJugador().getId(), partida.getJugador().getNombre(),
+                partida.getPalabra().getId(), partida.getPalabra().getUtilizada(),
+                ganado, puntaje, LocalDateTime.now());
+    }
+
+    // Partida que quedó guardada sin registrar; no se sabe si su palabra llegó a marcarse
+    public static GameCompletion from(FinishedGame terminada) {
+        return new GameCompletion(terminada.getEvento(), null,
+                terminada.getIdJugador(), terminada.getNombreJugador(),
+                terminada.getIdPalabra(), false,
+                "GANADO".equals(terminada.getResultado()), terminada.getPuntaje(), terminada.getFechaPartida());
+    }
+
+    public String resultado() {
+        return ganado ? "GANADO" : "PERDIDO";
+    }
+}
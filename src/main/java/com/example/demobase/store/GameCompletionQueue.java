@@ -0,0 +1,351 @@
+package com.example.demobase.store;
+
+import com.example.demobase.model.PlayerStats;
+import com.example.demobase.repository.FinishedGameRepository;
+import com.example.demobase.repository.PlayerStatsRepository;
+import com.example.demobase.repository.WordRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Partidas terminadas pendientes de pasar al historial. Antes de responder el último intento,
+// submit guarda la partida en finished_games y borra su fila de games_in_progress en una misma
+// transacción: desde ahí la partida no se puede volver a jugar y una caída no la pierde.
+// Un único hilo escritor saca las partidas de la cola en memoria de a lotes y en una transacción
+// por lote inserta en games, suma los totales de cada jugador y borra las filas de finished_games.
+// La columna evento evita registrar dos veces una partida si el commit llegó a la base pero no la
+// respuesta. Con la cola llena, submit espera hasta game.completion.offer-timeout-ms a que el
+// escritor haga lugar; lo que igual no entra (o llega durante el cierre, o queda en una instancia
+// caída) lo registra la recuperación: cada tanto el escritor lee de finished_games las partidas más
+// viejas que game.completion.recovery-age-ms, que ya deberían haberse registrado.
+// Si un lote falla, sus partidas se registran de a una: una que la base rechaza (por ejemplo de
+// un jugador borrado) no frena al resto ni al escritor. Queda en finished_games con el error y la
+// vuelve a tomar la recuperación; tras game.completion.max-attempts fallos se marca como fallida.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GameCompletionQueue {
+
+    private static final String INSERT_SQL = "INSERT INTO games (id_jugador, id_palabra, resultado, puntaje, fecha_partida, evento) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String FINISHED_SQL = "INSERT INTO finished_games " +
+            "(evento, id_jugador, nombre_jugador, id_palabra, resultado, puntaje, fecha_partida, intentos, fallida) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, 0, false)";
+
+    private static final int MAX_ERROR = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final WordRepository wordRepository;
+    private final PlayerStatsRepository playerStatsRepository;
+    private final FinishedGameRepository finishedGameRepository;
+    private final WordCatalog wordCatalog;
+    private final Leaderboard leaderboard;
+    private final DataVersion dataVersion;
+
+    @Value("${game.completion.queue-capacity:10000}")
+    private int queueCapacity = 10000;
+
+    @Value("${game.completion.offer-timeout-ms:1000}")
+    private long offerTimeoutMs = 1000;
+
+    @Value("${game.completion.batch-size:500}")
+    private int batchSize = 500;
+
+    @Value("${game.completion.max-attempts:5}")
+    private int maxAttempts = 5;
+
+    @Value("${game.completion.shutdown-timeout-ms:30000}")
+    private long shutdownTimeoutMs = 30000;
+
+    @Value("${game.completion.recovery-interval-ms:30000}")
+    private long recoveryIntervalMs = 30000;
+
+    @Value("${game.completion.recovery-age-ms:60000}")
+    private long recoveryAgeMs = 60000;
+
+    private BlockingQueue<GameCompletion> queue;
+    private Thread writer;
+    private volatile boolean running;
+    // Partidas que esta instancia marcó como fallidas
+    private final AtomicLong fallidas = new AtomicLong();
+    // Partidas que no entraron en la cola y esperan a la recuperación
+    private final AtomicLong desbordadas = new AtomicLong();
+
+    @PostConstruct
+    public void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        running = true;
+        writer = new Thread(this::run, "game-completion-writer");
+        // Al cerrar se espera a que vacíe la cola en shutdown(); no debe impedir que termine la JVM
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    // Guarda la partida terminada; si falla, la excepción llega a quien la terminó y nada cambió
+    public void submit(GameCompletion completion) {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update(FINISHED_SQL, completion.evento(), completion.idJugador(), completion.nombreJugador(),
+                    completion.idPalabra(), completion.resultado(), completion.puntaje(),
+                    Timestamp.valueOf(completion.fechaPartida()));
+            if (completion.idPartida() != null) {
+                jdbcTemplate.update("DELETE FROM games_in_progress WHERE id = ?", completion.idPartida());
+            }
+        });
+        // Ya quedó guardada: si la cola sigue llena tras la espera, o la aplicación se está cerrando,
+        // la registra la recuperación con un atraso de hasta recovery-age-ms + recovery-interval-ms
+        if (!running || !offer(completion)) {
+            desbordadas.incrementAndGet();
+            log.warn("Partida terminada {} fuera de la cola ({} pendientes), la registrará la recuperación",
+                    completion.evento(), queue.size());
+        }
+    }
+
+    // Frena a quien termina partidas mientras el escritor no da abasto, pero acotado
+    private boolean offer(GameCompletion completion) {
+        try {
+            return queue.offer(completion, offerTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    public int pending() {
+        return queue.size();
+    }
+
+    public long failed() {
+        return fallidas.get();
+    }
+
+    public long overflowed() {
+        return desbordadas.get();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        writer.join(shutdownTimeoutMs);
+        if (writer.isAlive()) {
+            log.error("El escritor de partidas terminadas no terminó en {} ms; {} partidas quedan para la recuperación",
+                    shutdownTimeoutMs, queue.size());
+        }
+    }
+
+    private void run() {
+        List<GameCompletion> batch = new ArrayList<>(batchSize);
+        // La primera recuperación es tras un intervalo: lo que dejó una caída anterior ya está guardado y puede esperar
+        long proximaRecuperacion = System.currentTimeMillis() + recoveryIntervalMs;
+        while (running || !queue.isEmpty()) {
+            try {
+                if (running && System.currentTimeMillis() >= proximaRecuperacion) {
+                    recover();
+                    proximaRecuperacion = System.currentTimeMillis() + recoveryIntervalMs;
+                }
+                // Espera acotada para notar el cierre aunque no lleguen partidas
+                GameCompletion first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                writeBatch(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                // Nadie interrumpe al escritor; se sigue hasta vaciar la cola
+            }
+        }
+    }
+
+    // Registra las partidas de finished_games que deberían haberse registrado ya; devuelve cuántas
+    // encontró. Las más nuevas pueden estar todavía en la cola de la instancia que las terminó.
+    int recover() {
+        int recuperadas = 0;
+        List<GameCompletion> pendientes;
+        int fallos;
+        do {
+            LocalDateTime antes = LocalDateTime.now().minus(Duration.ofMillis(recoveryAgeMs));
+            try {
+                pendientes = finishedGameRepository.findPending(antes, PageRequest.of(0, batchSize)).stream()
+                        .map(GameCompletion::from)
+                        .toList();
+            } catch (RuntimeException e) {
+                log.error("Error al leer las partidas terminadas pendientes, se reintentará", e);
+                return recuperadas;
+            }
+            if (pendientes.isEmpty()) {
+                break;
+            }
+            log.info("Se registran {} partidas terminadas pendientes de finished_games", pendientes.size());
+            fallos = writeBatch(pendientes);
+            recuperadas += pendientes.size();
+            // Las que fallaron siguen pendientes: se vuelven a leer en la próxima recuperación, no en esta
+        } while (pendientes.size() == batchSize && fallos == 0);
+        return recuperadas;
+    }
+
+    // Devuelve cuántas partidas del lote no se pudieron registrar
+    int writeBatch(List<GameCompletion> batch) {
+        try {
+            write(batch);
+            return 0;
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                failed(batch.get(0), e);
+                return 1;
+            }
+            log.warn("Error al registrar {} partidas terminadas, se registran de a una", batch.size(), e);
+        }
+        int fallos = 0;
+        for (GameCompletion completion : batch) {
+            try {
+                write(List.of(completion));
+            } catch (RuntimeException e) {
+                failed(completion, e);
+                fallos++;
+            }
+        }
+        return fallos;
+    }
+
+    // El fallo se anota en finished_games; si la base no responde ni para eso, la partida sigue
+    // pendiente igual y la recuperación la vuelve a intentar
+    private void failed(GameCompletion completion, RuntimeException e) {
+        String error = String.valueOf(e.getMessage());
+        String mensaje = error.length() > MAX_ERROR ? error.substring(0, MAX_ERROR) : error;
+        try {
+            Integer marcada = transactionTemplate.execute(status -> {
+                finishedGameRepository.recordFailure(completion.evento(), mensaje);
+                return finishedGameRepository.markFailed(completion.evento(), maxAttempts);
+            });
+            if (marcada != null && marcada > 0) {
+                fallidas.incrementAndGet();
+                log.error("La partida terminada {} del jugador {} falló {} veces y queda marcada como fallida en finished_games",
+                        completion.evento(), completion.idJugador(), maxAttempts, e);
+            } else {
+                log.warn("Error al registrar la partida terminada {} del jugador {}, la reintentará la recuperación",
+                        completion.evento(), completion.idJugador(), e);
+            }
+        } catch (RuntimeException ex) {
+            log.error("Error al registrar la partida terminada {} y al anotar el fallo, la reintentará la recuperación",
+                    completion.evento(), ex);
+        }
+    }
+
+    // Registra el lote en una transacción; devuelve cuántas partidas no estaban ya en el historial
+    int write(List<GameCompletion> batch) {
+        Integer registradas = transactionTemplate.execute(status -> {
+            List<GameCompletion> nuevas = notRecorded(batch);
+            if (!nuevas.isEmpty()) {
+                markWordsUsed(nuevas);
+                jdbcTemplate.batchUpdate(INSERT_SQL, nuevas, nuevas.size(), (ps, completion) -> {
+                    ps.setLong(1, completion.idJugador());
+                    ps.setLong(2, completion.idPalabra());
+                    ps.setString(3, completion.resultado());
+                    ps.setInt(4, completion.puntaje());
+                    ps.setTimestamp(5, Timestamp.valueOf(completion.fechaPartida()));
+                    ps.setString(6, completion.evento());
+                });
+                addStats(nuevas);
+            }
+            // Las partidas guardadas se borran también si el lote ya estaba registrado
+            finishedGameRepository.deleteByEventos(batch.stream().map(GameCompletion::evento).toList());
+            for (GameCompletion completion : nuevas) {
+                leaderboard.recordGame(completion.idJugador(), completion.nombreJugador(),
+                        completion.puntaje(), completion.ganado());
+            }
+            if (!nuevas.isEmpty()) {
+                dataVersion.scoresChanged();
+            }
+            return nuevas.size();
+        });
+        return registradas == null ? 0 : registradas;
+    }
+
+    private List<GameCompletion> notRecorded(List<GameCompletion> batch) {
+        String marcas = String.join(", ", Collections.nCopies(batch.size(), "?"));
+        Set<String> registrados = new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT evento FROM games WHERE evento IN (" + marcas + ")", String.class,
+                batch.stream().map(GameCompletion::evento).toArray()));
+        if (registrados.isEmpty()) {
+            return batch;
+        }
+        return batch.stream().filter(completion -> !registrados.contains(completion.evento())).toList();
+    }
+
+    // Normalmente ya la marcó el pool de palabras; las partidas retomadas tras un reinicio o
+    // recuperadas de finished_games pueden no estarlo. El catálogo se invalida al confirmar: si el
+    // lote se revierte no se arma con palabras marcadas en una transacción sin confirmar
+    private void markWordsUsed(List<GameCompletion> nuevas) {
+        List<Long> ids = nuevas.stream()
+                .filter(completion -> !completion.palabraUtilizada())
+                .map(GameCompletion::idPalabra)
+                .toList();
+        if (ids.isEmpty()) {
+            return;
+        }
+        wordRepository.markUsed(ids);
+        afterCommit(wordCatalog::invalidate);
+    }
+
+    // Un UPDATE por jugador con todas sus partidas del lote; en orden de id para que dos
+    // instancias no se bloqueen entre sí
+    private void addStats(List<GameCompletion> nuevas) {
+        Map<Long, PlayerStats> totales = new TreeMap<>();
+        for (GameCompletion completion : nuevas) {
+            Long idJugador = completion.idJugador();
+            PlayerStats total = totales.computeIfAbsent(idJugador, id -> new PlayerStats(id, 0, 0L, 0L, 0L));
+            total.setPuntajeTotal(total.getPuntajeTotal() + completion.puntaje());
+            total.setPartidasJugadas(total.getPartidasJugadas() + 1);
+            if (completion.ganado()) {
+                total.setPartidasGanadas(total.getPartidasGanadas() + 1);
+            } else {
+                total.setPartidasPerdidas(total.getPartidasPerdidas() + 1);
+            }
+        }
+        for (PlayerStats total : totales.values()) {
+            if (playerStatsRepository.addGames(total.getIdJugador(), total.getPuntajeTotal(), total.getPartidasJugadas(),
+                    total.getPartidasGanadas(), total.getPartidasPerdidas()) == 0) {
+                playerStatsRepository.save(total);
+            }
+        }
+    }
+
+    private static void afterCommit(Runnable accion) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    accion.run();
+                }
+            });
+        } else {
+            accion.run();
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package com.example.demobase.store;
+
+import com.example.demobase.model.GameInProgress;
+import com.example.demobase.repository.GameInProgressRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class InMemoryActiveGameStore implements ActiveGameStore {
+
+    private final GameInProgressRepository gameInProgressRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    // Jugadores sin partida en curso, para no volver a consultar la base en cada pedido. El valor es
+    // el número de la última partida que terminó (0 si no terminó ninguna desde que se consultó).
+    // Es acotado: si se pierde una marca, la próxima consulta lee la base, que ya no tiene la fila.
+    private static final int MAX_SIN_PARTIDA = 100_000;
+    private static final Duration VIGENCIA_SIN_PARTIDA = Duration.ofMinutes(10);
+
+    // Partidas en curso por id de jugador; al terminar se quitan
+    private final Map<Long, GameInProgress> sessions = new ConcurrentHashMap<>();
+    private final AtomicInteger activas = new AtomicInteger();
+
+    private final Cache<Long, Long> sinPartida = Caffeine.newBuilder()
+            .maximumSize(MAX_SIN_PARTIDA)
+            .expireAfterWrite(VIGENCIA_SIN_PARTIDA)
+            .build();
+    private final AtomicLong terminadas = new AtomicLong();
+
+    // Jugadores cuya partida cambió desde el último volcado
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+
+    // Volcados fallidos seguidos de cada jugador
+    private final Map<Long, Integer> fallos = new ConcurrentHashMap<>();
+
+    @Value("${game.store.flush-batch-size:500}")
+    private int flushBatchSize = 500;
+
+    @Value("${game.store.max-write-failures:3}")
+    private int maxWriteFailures = 3;
+
+    @Override
+    public Optional<GameInProgress> findByPlayer(Long playerId) {
+        GameInProgress game = sessions.get(playerId);
+        if (game != null) {
+            return Optional.of(game);
+        }
+        if (sinPartida.getIfPresent(playerId) != null) {
+            return Optional.empty();
+        }
+        // Primera consulta del jugador en este nodo (por ejemplo tras un reinicio). Se lee fuera
+        // de computeIfAbsent: no se bloquea el mapa (ni un hilo virtual) durante la consulta.
+        // Si dos consultas concurrentes leen la misma fila, queda la primera que se guarda.
+        long inicio = terminadas.get();
+        GameInProgress leida = loadActiveGame(playerId);
+        if (leida == null) {
+            sinPartida.asMap().putIfAbsent(playerId, 0L);
+            return Optional.empty();
+        }
+        game = sessions.putIfAbsent(playerId, leida);
+        if (game != null) {
+            return Optional.of(game);
+        }
+        activas.incrementAndGet();
+        // La partida terminó mientras se leía: la fila leída ya se borró
+        Long terminada = sinPartida.getIfPresent(playerId);
+        if (terminada != null && terminada > inicio) {
+            if (sessions.remove(playerId, leida)) {
+                activas.decrementAndGet();
+            }
+            return Optional.empty();
+        }
+        return Optional.of(leida);
+    }
+
+    private GameInProgress loadActiveGame(Long playerId) {
+        GameInProgress game = gameInProgressRepository.findFirstByJugadorIdOrderByFechaInicioDesc(playerId)
+                .orElse(null);
+        if (game == null) {
+            return null;
+        }
+        // Filas con letras en el formato anterior se reescriben en el próximo volcado
+        if (game.migrateLegacyLetters()) {
+            dirty.add(playerId);
+        }
+        return game;
+    }
+
+    @Override
+    public boolean putIfAbsent(GameInProgress game) {
+        Long playerId = game.getJugador().getId();
+        if (findByPlayer(playerId).isPresent() || sessions.putIfAbsent(playerId, game) != null) {
+            return false;
+        }
+        // La fila se inserta ya y no en el próximo volcado: si otra instancia empezó una partida para
+        // el jugador, el índice único la rechaza aunque este nodo lo tenga marcado como sin partida
+        try {
+            transactionTemplate.executeWithoutResult(status -> gameInProgressRepository.save(game));
+        } catch (RuntimeException e) {
+            sessions.remove(playerId, game);
+            if (e instanceof DataIntegrityViolationException) {
+                // La próxima consulta lee de la base la partida de la otra instancia
+                sinPartida.invalidate(playerId);
+                return false;
+            }
+            throw e;
+        }
+        activas.incrementAndGet();
+        sinPartida.invalidate(playerId);
+        return true;
+    }
+
+    @Override
+    public void save(GameInProgress game) {
+        Long playerId = game.getJugador().getId();
+        if (sessions.put(playerId, game) == null) {
+            activas.incrementAndGet();
+        }
+        dirty.add(playerId);
+    }
+
+    @Override
+    public void remove(GameInProgress game) {
+        Long playerId = game.getJugador().getId();
+        // Su fila ya se borró al guardar la partida terminada. La marca va antes de quitarla: una
+        // lectura de la base que empezó antes no vuelve a dejar la partida en memoria
+        sinPartida.put(playerId, terminadas.incrementAndGet());
+        if (sessions.remove(playerId, game)) {
+            activas.decrementAndGet();
+        }
+        dirty.remove(playerId);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${game.store.flush-interval-ms:5000}")
+    public void flush() {
+        if (dirty.isEmpty()) {
+            return;
+        }
+        List<GameInProgress> batch = new ArrayList<>();
+        Iterator<Long> it = dirty.iterator();
+        while (it.hasNext()) {
+            Long playerId = it.next();
+            // Se quita antes de escribir: un cambio concurrente la vuelve a marcar
+            it.remove();
+            GameInProgress game = sessions.get(playerId);
+            if (game != null) {
+                batch.add(game);
+            }
+            if (batch.size() >= flushBatchSize) {
+                write(batch);
+                batch = new ArrayList<>();
+            }
+        }
+        if (!batch.isEmpty()) {
+            write(batch);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    // Se lee en cada scrape de métricas: no recorre el mapa
+    @Override
+    public int size() {
+        return activas.get();
+    }
+
+    private void write(List<GameInProgress> batch) {
+        try {
+            List<GameInProgress> guardadas = saveAll(batch);
+            for (int i = 0; i < batch.size(); i++) {
+                written(batch.get(i), guardadas.get(i));
+            }
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                failed(batch.get(0), e);
+                return;
+            }
+            // Una fila con problemas no debe frenar el volcado del resto: se reintentan de a una
+            log.warn("Error al volcar {} partidas en curso, se reintentan de a una", batch.size(), e);
+            for (GameInProgress game : batch) {
+                try {
+                    written(game, saveAll(List.of(game)).get(0));
+                } catch (RuntimeException ex) {
+                    failed(game, ex);
+                }
+            }
+        }
+    }
+
+    private List<GameInProgress> saveAll(List<GameInProgress> batch) {
+        List<Long> existingIds = batch.stream()
+                .map(GameInProgress::getId)
+                .filter(id -> id != null)
+                .toList();
+        return transactionTemplate.execute(status -> {
+            // Precargar las filas existentes para que el merge no consulte una por una
+            if (!existingIds.isEmpty()) {
+                gameInProgressRepository.findAllById(existingIds);
+            }
+            return gameInProgressRepository.saveAll(batch);
+        });
+    }
+
+    private void written(GameInProgress game, GameInProgress guardada) {
+        Long playerId = game.getJugador().getId();
+        fallos.remove(playerId);
+        // Partidas que terminaron mientras se escribían: borrar la fila recién escrita. El merge
+        // devuelve la copia guardada, que tiene el id de la fila aunque la haya vuelto a insertar
+        if ((game.isTerminada() || sessions.get(playerId) != game) && guardada.getId() != null) {
+            gameInProgressRepository.deleteById(guardada.getId());
+        }
+    }
+
+    // La partida vuelve a marcarse para el próximo volcado; si falla seguido se deja de intentar
+    // hasta que cambie, para no repetir en cada volcado una fila que la base rechaza
+    private void failed(GameInProgress game, RuntimeException e) {
+        Long playerId = game.getJugador().getId();
+        int intentos = fallos.merge(playerId, 1, Integer::sum);
+        if (intentos < maxWriteFailures) {
+            log.error("Error al volcar la partida en curso del jugador {} (intento {}), se reintentará",
+                    playerId, intentos, e);
+            dirty.add(playerId);
+        } else {
+            log.error("Error al volcar la partida en curso del jugador {} (intento {}), se descarta hasta su próximo cambio",
+                    playerId, intentos, e);
+            fallos.remove(playerId);
+        }
+    }
+}
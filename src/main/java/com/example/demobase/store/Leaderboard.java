@@ -0,0 +1,334 @@
+package com.example.demobase.store;
+
+import com.example.demobase.dto.RankDTO;
+import com.example.demobase.dto.ScoreboardDTO;
+import com.example.demobase.repository.PlayerStatsRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.UnaryOperator;
+
+// Grilla de puntajes ordenada en memoria. Es un treap con el tamaño de cada subárbol,
+// así la posición de un jugador y el top K se resuelven en O(log n) sin ir a la base.
+// Los cambios se aplican después del commit; la recarga periódica toma lo que hayan
+// terminado otras instancias de la aplicación. La recarga y los commits se excluyen (ver
+// commits) para que ningún cambio se cuente dos veces ni se pierda al reemplazar el árbol.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class Leaderboard {
+
+    // Mismo orden que la grilla: mayor puntaje primero y, a igual puntaje, menor id
+    static final Comparator<ScoreboardDTO> ORDEN = Comparator
+            .comparing(ScoreboardDTO::getPuntajeTotal, Comparator.reverseOrder())
+            .thenComparing(ScoreboardDTO::getIdJugador);
+
+    private final PlayerStatsRepository playerStatsRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Una sola carga a la vez; no es synchronized para no fijar hilos virtuales mientras consulta
+    private final ReentrantLock carga = new ReentrantLock();
+    // Compartido por cada transacción que cambia la grilla desde antes de su commit hasta aplicar
+    // el cambio; exclusivo para la recarga mientras lee la base y reemplaza el árbol. Así un commit
+    // termina antes de la lectura (y ya viene en lo leído) o se aplica después, sobre el árbol nuevo
+    private final ReentrantReadWriteLock commits = new ReentrantReadWriteLock();
+    private final Map<Long, ScoreboardDTO> porJugador = new HashMap<>();
+    private Node root;
+    private volatile boolean loaded;
+
+    private static final class Node {
+        final ScoreboardDTO entry;
+        final int priority = ThreadLocalRandom.current().nextInt();
+        int size = 1;
+        Node left;
+        Node right;
+
+        Node(ScoreboardDTO entry) {
+            this.entry = entry;
+        }
+    }
+
+    public List<ScoreboardDTO> top(int k) {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            List<ScoreboardDTO> result = new ArrayList<>(Math.min(k, size(root)));
+            // Recorrido en orden que se corta al llegar a k
+            Deque<Node> stack = new ArrayDeque<>();
+            Node node = root;
+            while (result.size() < k && (node != null || !stack.isEmpty())) {
+                while (node != null) {
+                    stack.push(node);
+                    node = node.left;
+                }
+                node = stack.pop();
+                result.add(copy(node.entry));
+                node = node.right;
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Optional<RankDTO> rankOf(Long idJugador) {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            ScoreboardDTO entry = porJugador.get(idJugador);
+            if (entry == null) {
+                return Optional.empty();
+            }
+            // Jugadores ordenados antes que este
+            int anteriores = 0;
+            Node node = root;
+            while (node != null) {
+                int cmp = ORDEN.compare(entry, node.entry);
+                if (cmp < 0) {
+                    node = node.left;
+                } else {
+                    anteriores += size(node.left) + (cmp > 0 ? 1 : 0);
+                    node = cmp > 0 ? node.right : null;
+                }
+            }
+            return Optional.of(new RankDTO(entry.getIdJugador(), entry.getNombreJugador(),
+                    entry.getPuntajeTotal(), anteriores + 1, size(root)));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            return size(root);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Suma una partida terminada al jugador cuando la transacción que la guarda confirma
+    public void recordGame(Long idJugador, String nombre, int puntaje, boolean ganado) {
+        afterCommit(() -> update(idJugador, nombre, actual -> new ScoreboardDTO(idJugador, actual.getNombreJugador(),
+                actual.getPuntajeTotal() + puntaje,
+                actual.getPartidasJugadas() + 1,
+                actual.getPartidasGanadas() + (ganado ? 1 : 0),
+                actual.getPartidasPerdidas() + (ganado ? 0 : 1))));
+    }
+
+    // Alta o cambio de nombre de un jugador
+    public void playerSaved(Long idJugador, String nombre) {
+        afterCommit(() -> update(idJugador, nombre, actual -> new ScoreboardDTO(idJugador, nombre,
+                actual.getPuntajeTotal(), actual.getPartidasJugadas(),
+                actual.getPartidasGanadas(), actual.getPartidasPerdidas())));
+    }
+
+    public void playerRemoved(Long idJugador) {
+        afterCommit(() -> {
+            if (!loaded) {
+                return;
+            }
+            lock.writeLock().lock();
+            try {
+                ScoreboardDTO actual = porJugador.remove(idJugador);
+                if (actual != null) {
+                    root = remove(root, actual);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    // La próxima consulta vuelve a cargar la grilla desde la base
+    public void invalidate() {
+        afterCommit(() -> loaded = false);
+    }
+
+    @Scheduled(fixedDelayString = "${game.leaderboard.reload-interval-ms:60000}")
+    public void reload() {
+        // Las consultas siguen atendiéndose con el árbol anterior; solo esperan los commits
+        commits.writeLock().lock();
+        try {
+            List<ScoreboardDTO> filas = playerStatsRepository.findScoreboard();
+            Node nuevo = null;
+            Map<Long, ScoreboardDTO> nuevos = new HashMap<>(filas.size() * 2);
+            for (ScoreboardDTO fila : filas) {
+                nuevo = insert(nuevo, new Node(fila));
+                nuevos.put(fila.getIdJugador(), fila);
+            }
+            lock.writeLock().lock();
+            try {
+                root = nuevo;
+                porJugador.clear();
+                porJugador.putAll(nuevos);
+                loaded = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.debug("Grilla de puntajes cargada: {} jugadores", filas.size());
+        } finally {
+            commits.writeLock().unlock();
+        }
+    }
+
+    private void ensureLoaded() {
+        if (!loaded) {
+            carga.lock();
+            try {
+                if (!loaded) {
+                    reload();
+                }
+            } finally {
+                carga.unlock();
+            }
+        }
+    }
+
+    private void update(Long idJugador, String nombre, UnaryOperator<ScoreboardDTO> cambio) {
+        // Sin cargar todavía: la carga inicial ya va a leer el cambio confirmado
+        if (!loaded) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            ScoreboardDTO actual = porJugador.get(idJugador);
+            if (actual != null) {
+                root = remove(root, actual);
+            } else {
+                actual = new ScoreboardDTO(idJugador, nombre, 0, 0L, 0L, 0L);
+            }
+            ScoreboardDTO nuevo = cambio.apply(actual);
+            root = insert(root, new Node(nuevo));
+            porJugador.put(idJugador, nuevo);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void afterCommit(Runnable accion) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                private boolean tomado;
+
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    commits.readLock().lock();
+                    tomado = true;
+                }
+
+                @Override
+                public void afterCommit() {
+                    accion.run();
+                }
+
+                // También si el commit falla: beforeCommit ya pudo haber tomado el lock
+                @Override
+                public void afterCompletion(int status) {
+                    if (tomado) {
+                        tomado = false;
+                        commits.readLock().unlock();
+                    }
+                }
+            });
+        } else {
+            accion.run();
+        }
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static Node insert(Node node, Node nuevo) {
+        if (node == null) {
+            return nuevo;
+        }
+        if (ORDEN.compare(nuevo.entry, node.entry) < 0) {
+            node.left = insert(node.left, nuevo);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, nuevo);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        node.size = size(node.left) + size(node.right) + 1;
+        return node;
+    }
+
+    private static Node remove(Node node, ScoreboardDTO entry) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = ORDEN.compare(entry, node.entry);
+        if (cmp < 0) {
+            node.left = remove(node.left, entry);
+        } else if (cmp > 0) {
+            node.right = remove(node.right, entry);
+        } else {
+            return merge(node.left, node.right);
+        }
+        node.size = size(node.left) + size(node.right) + 1;
+        return node;
+    }
+
+    // Todos los elementos de left van antes que los de right
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.size = size(left.left) + size(left.right) + 1;
+            return left;
+        }
+        right.left = merge(left, right.left);
+        right.size = size(right.left) + size(right.right) + 1;
+        return right;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node left = node.left;
+        node.left = left.right;
+        left.right = node;
+        node.size = size(node.left) + size(node.right) + 1;
+        left.size = size(left.left) + size(left.right) + 1;
+        return left;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node right = node.right;
+        node.right = right.left;
+        right.left = node;
+        node.size = size(node.left) + size(node.right) + 1;
+        right.size = size(right.left) + size(right.right) + 1;
+        return right;
+    }
+
+    private static ScoreboardDTO copy(ScoreboardDTO entry) {
+        return new ScoreboardDTO(entry.getIdJugador(), entry.getNombreJugador(), entry.getPuntajeTotal(),
+                entry.getPartidasJugadas(), entry.getPartidasGanadas(), entry.getPartidasPerdidas());
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.demobase.store;
+
+import com.example.demobase.model.Player;
+import com.example.demobase.repository.PlayerRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+
+// Jugadores leídos recientemente. Tamaño y vencimiento en spring.cache.caffeine.spec.
+// Los jugadores inexistentes no se guardan.
+@Component
+@RequiredArgsConstructor
+public class PlayerCache {
+
+    public static final String PLAYERS = "players";
+
+    private final PlayerRepository playerRepository;
+    private final CacheManager cacheManager;
+
+    @Cacheable(cacheNames = PLAYERS, unless = "#result == null")
+    public Optional<Player> findById(Long id) {
+        return playerRepository.findById(id);
+    }
+
+    // Se quita ya y otra vez al confirmar, por si una lectura concurrente guardó la versión anterior
+    public void evict(Long id) {
+        Cache cache = cacheManager.getCache(PLAYERS);
+        if (cache == null) {
+            return;
+        }
+        cache.evict(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.evict(id);
+                }
+            });
+        }
+    }
+}
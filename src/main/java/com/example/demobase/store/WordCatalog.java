@@ -0,0 +1,105 @@
+package com.example.demobase.store;
+
+import com.example.demobase.dto.WordDTO;
+import com.example.demobase.repository.WordRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.GZIPOutputStream;
+
+// Lista de palabras ya serializada en JSON (y comprimida con gzip) para GET /api/words.
+// Se arma una vez por versión; cada cambio en el flag utilizada sube la versión y la
+// próxima consulta la vuelve a armar. Para ver lo que marquen otras instancias, la versión
+// también sube sola cada game.words.catalog-refresh-interval-ms.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WordCatalog {
+
+    private final WordRepository wordRepository;
+    private final ObjectMapper objectMapper;
+
+    private final AtomicLong version = new AtomicLong();
+    private volatile Snapshot snapshot;
+    // Un solo armado a la vez; lee la base con el lock tomado, por eso no es synchronized
+    private final ReentrantLock armado = new ReentrantLock();
+
+    // El ETag sale del contenido: es el mismo en todas las instancias y entre reinicios
+    public record Snapshot(long version, byte[] json, byte[] gzip, String etag) {
+
+        public static Snapshot of(long version, byte[] json) {
+            return new Snapshot(version, json, gzip(json), "\"" + DigestUtils.md5DigestAsHex(json) + "\"");
+        }
+
+        // Variante comprimida: otro ETag para que los caches no mezclen las dos representaciones
+        public String gzipEtag() {
+            return etag.substring(0, etag.length() - 1) + "-gzip\"";
+        }
+    }
+
+    public Snapshot snapshot() {
+        Snapshot actual = snapshot;
+        if (actual != null && actual.version() == version.get()) {
+            return actual;
+        }
+        armado.lock();
+        try {
+            long vigente = version.get();
+            actual = snapshot;
+            if (actual == null || actual.version() != vigente) {
+                // Si se invalida mientras se arma, la versión queda vieja y se vuelve a armar
+                actual = build(vigente);
+                snapshot = actual;
+            }
+            return actual;
+        } finally {
+            armado.unlock();
+        }
+    }
+
+    public void invalidate() {
+        version.incrementAndGet();
+    }
+
+    // Solo arma de nuevo si alguien consulta; si el contenido no cambió, el ETag sigue siendo el mismo
+    @Scheduled(fixedDelayString = "${game.words.catalog-refresh-interval-ms:60000}",
+            initialDelayString = "${game.words.catalog-refresh-interval-ms:60000}")
+    public void refresh() {
+        invalidate();
+    }
+
+    private Snapshot build(long vigente) {
+        List<WordDTO> words = wordRepository.findAllOrdered().stream()
+                .map(word -> new WordDTO(word.getId(), word.getPalabra(), word.getUtilizada()))
+                .toList();
+        try {
+            Snapshot nuevo = Snapshot.of(vigente, objectMapper.writeValueAsBytes(words));
+            log.debug("Catálogo de palabras armado: versión {}, {} palabras, {} bytes ({} con gzip)",
+                    vigente, words.size(), nuevo.json().length, nuevo.gzip().length);
+            return nuevo;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar el catálogo de palabras", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] datos) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(datos.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(datos);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.demobase.store;
+
+import com.example.demobase.game.WordIndex;
+import com.example.demobase.model.Word;
+import com.example.demobase.repository.WordRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Palabras disponibles para este nodo. Se reservan por bloques en la base para que
+// varias instancias de la aplicación no entreguen la misma palabra.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WordPool {
+
+    // Con poca competencia un reintento alcanza; con la tabla vacía no vale la pena insistir
+    private static final int MAX_INTENTOS_RESERVA = 3;
+
+    private final WordRepository wordRepository;
+    private final WordCatalog wordCatalog;
+
+    @Value("${game.words.block-size:100}")
+    private int blockSize = 100;
+
+    @Value("${game.words.lease-minutes:10}")
+    private long leaseMinutes = 10;
+
+    // Las palabras disponibles del bloque actual ocupan las posiciones [0, size)
+    private Word[] words = new Word[0];
+    private int size;
+
+    // Bloque reservado actualmente por este nodo
+    private String reserva;
+    private LocalDateTime reservadaHasta;
+
+    // Protege el bloque actual. No es synchronized porque reservar un bloque consulta la base
+    // con el lock tomado y, con hilos virtuales, eso dejaría fijo al hilo portador
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // Palabras entregadas cuyo flag utilizada todavía no se escribió
+    private final Queue<Long> pendingUsed = new ConcurrentLinkedQueue<>();
+
+    // Entrega una palabra al azar del bloque y la marca como utilizada; la escritura en la base es
+    // diferida. Solo consulta la base al reservar un bloque nuevo
+    public Optional<Word> claim() {
+        lock.lock();
+        try {
+            while (true) {
+                if (size == 0 || leaseExpiring()) {
+                    reserveBlock();
+                    if (size == 0) {
+                        return Optional.empty();
+                    }
+                }
+                // Swap-remove: el elegido se reemplaza por el último
+                int i = ThreadLocalRandom.current().nextInt(size);
+                Word word = words[i];
+                words[i] = words[--size];
+                words[size] = null;
+                // Se anota con el lock tomado: un reserveBlock posterior la escribe antes de liberar el bloque.
+                // Una que no entra en el índice de la partida se descarta y, al quedar marcada, no vuelve
+                pendingUsed.add(word.getId());
+                if (word.getPalabra().length() <= WordIndex.MAX_LENGTH) {
+                    word.setUtilizada(true);
+                    return Optional.of(word);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int available() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Se renueva antes del vencimiento para no entregar palabras que otro nodo ya pueda tomar
+    private boolean leaseExpiring() {
+        Duration margen = Duration.ofMinutes(leaseMinutes).dividedBy(10);
+        return reservadaHasta != null && !LocalDateTime.now().plus(margen).isBefore(reservadaHasta);
+    }
+
+    private void reserveBlock() {
+        // Lo entregado tiene que estar escrito antes de liberar o reservar
+        flushUsed();
+        releaseCurrent();
+
+        String nuevaReserva = UUID.randomUUID().toString();
+        LocalDateTime ahora = LocalDateTime.now();
+        LocalDateTime hasta = ahora.plusMinutes(leaseMinutes);
+        int reservadas = 0;
+        // Otro nodo pudo ganar las mismas filas: el UPDATE no toma nada y se vuelve a intentar
+        for (int intento = 0; intento < MAX_INTENTOS_RESERVA && reservadas == 0; intento++) {
+            reservadas = reserveFrom(nuevaReserva, hasta, ahora);
+        }
+        List<Word> reservados = reservadas == 0 ? List.of() : wordRepository.findReservedWords(nuevaReserva);
+
+        words = reservados.toArray(new Word[0]);
+        size = words.length;
+        reserva = size == 0 ? null : nuevaReserva;
+        reservadaHasta = size == 0 ? null : hasta;
+        log.debug("Bloque de palabras reservado: {} ({} palabras)", reserva, size);
+    }
+
+    // El bloque empieza en un id al azar y, si llega al final de la tabla, sigue desde el principio.
+    // Así los nodos no compiten por los ids más bajos ni entregan las palabras en el orden de carga
+    private int reserveFrom(String nuevaReserva, LocalDateTime hasta, LocalDateTime ahora) {
+        long maximo = wordRepository.findMaxId();
+        if (maximo <= 0) {
+            return 0;
+        }
+        long desde = ThreadLocalRandom.current().nextLong(1, maximo + 1);
+        int reservadas = wordRepository.reserveBlock(nuevaReserva, hasta, ahora, desde, blockSize);
+        if (reservadas < blockSize) {
+            reservadas += wordRepository.reserveBlock(nuevaReserva, hasta, ahora, 0, blockSize - reservadas);
+        }
+        return reservadas;
+    }
+
+    // Devuelve a la base las palabras del bloque que no se entregaron
+    private void releaseCurrent() {
+        if (reserva != null && size > 0) {
+            wordRepository.releaseReservations(List.of(reserva));
+        }
+        reserva = null;
+        reservadaHasta = null;
+        size = 0;
+    }
+
+    // Con el lock tomado para que releaseCurrent no libere palabras que este volcado sacó de la cola
+    // y todavía no escribió
+    @Scheduled(fixedDelayString = "${game.words.flush-interval-ms:1000}")
+    public void flushUsed() {
+        lock.lock();
+        try {
+            List<Long> batch = new ArrayList<>();
+            Long id;
+            while ((id = pendingUsed.poll()) != null) {
+                batch.add(id);
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+            try {
+                wordRepository.markUsed(batch);
+                wordCatalog.invalidate();
+            } catch (RuntimeException e) {
+                log.error("Error al marcar {} palabras como utilizadas, se reintentará", batch.size(), e);
+                pendingUsed.addAll(batch);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        lock.lock();
+        try {
+            flushUsed();
+            releaseCurrent();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
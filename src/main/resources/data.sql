@@ -1,29 +1,13 @@
--- Carga inicial de palabras para el juego Hangman
--- Palabras de al menos 10 caracteres en español
+-- Carga inicial de jugadores para el juego Hangman
+-- Las palabras se cargan desde el diccionario configurado en game.dictionary.path
+-- Se ejecuta en cada inicio (spring.sql.init.mode=always): cada jugador se agrega solo si no existe,
+-- para no duplicarlo contra una base persistente. La tabla derivada evita FROM DUAL, que no todas
+-- las bases aceptan
 
-INSERT INTO words (palabra, utilizada) VALUES 
-('PROGRAMADOR', false),
-('COMPUTADORA', false),
-('TECNOLOGIA', false),
-('INFORMATICA', false),
-('DESARROLLO', false),
-('APLICACION', false),
-('PLATAFORMA', false),
-('ARQUITECTURA', false),
-('IMPLEMENTACION', false),
-('FUNCIONALIDAD', false),
-('REQUERIMIENTO', false),
-('DOCUMENTACION', false),
-('PROCESAMIENTO', false),
-('CONFIGURACION', false),
-('ADMINISTRACION', false),
-('ESPECIALIZACION', false),
-('OPTIMIZACION', false),
-('CARACTERISTICA', false),
-('DISTRIBUCION', false),
-('ORGANIZACION', false);
-
-INSERT INTO players (nombre, fecha) VALUES 
-('Juan Pérez', '2025-01-15'),
-('María Gómez', '2025-01-16');
+INSERT INTO players (nombre, fecha)
+SELECT 'Juan Pérez', '2025-01-15' FROM (SELECT 1 AS uno) semilla
+WHERE NOT EXISTS (SELECT 1 FROM players WHERE nombre = 'Juan Pérez');
 
+INSERT INTO players (nombre, fecha)
+SELECT 'María Gómez', '2025-01-16' FROM (SELECT 1 AS uno) semilla
+WHERE NOT EXISTS (SELECT 1 FROM players WHERE nombre = 'María Gómez');
@@ -0,0 +1,43 @@
+package com.example.demobase.controller;
+
+import com.example.demobase.dto.CacheStatsDTO;
+import com.example.demobase.service.CacheStatsService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(CacheController.class)
+class CacheControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private CacheStatsService cacheStatsService;
+
+    @Test
+    void testGetCacheStats() throws Exception {
+        // Given
+        CacheStatsDTO stats = new CacheStatsDTO("players", 10L, 90L, 10L, 0.9, 0L);
+        when(cacheStatsService.getCacheStats()).thenReturn(List.of(stats));
+
+        // When & Then
+        mockMvc.perform(get("/api/admin/caches"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$[0].nombre").value("players"))
+                .andExpect(jsonPath("$[0].aciertos").value(90))
+                .andExpect(jsonPath("$[0].tasaAciertos").value(0.9));
+
+        verify(cacheStatsService, times(1)).getCacheStats();
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.demobase.controller;
+
+import com.example.demobase.dto.DictionaryImportDTO;
+import com.example.demobase.service.DictionaryImportService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(DictionaryController.class)
+class DictionaryControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private DictionaryImportService dictionaryImportService;
+
+    @Test
+    void testImportWords() throws Exception {
+        // Given
+        DictionaryImportDTO result = new DictionaryImportDTO("TERMINADA", "partner.txt", 3L, 2L, 1L, 0L,
+                LocalDateTime.now(), LocalDateTime.now(), null);
+        when(dictionaryImportService.importWords(any(), eq("partner.txt"))).thenReturn(result);
+
+        // When & Then
+        mockMvc.perform(post("/api/admin/dictionary")
+                        .param("origen", "partner.txt")
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .content("ELECTRODOMESTICO\nBIBLIOTECARIO\nELECTRODOMESTICO\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.estado").value("TERMINADA"))
+                .andExpect(jsonPath("$.palabrasNuevas").value(2))
+                .andExpect(jsonPath("$.duplicadas").value(1));
+
+        verify(dictionaryImportService, times(1)).importWords(any(), eq("partner.txt"));
+    }
+
+    @Test
+    void testGetProgress_NoImportYet() throws Exception {
+        // Given
+        when(dictionaryImportService.getProgress()).thenReturn(Optional.empty());
+
+        // When & Then
+        mockMvc.perform(get("/api/admin/dictionary/progress"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -1,7 +1,9 @@
 package com.example.demobase.controller;
 
 import com.example.demobase.dto.GameDTO;
+import com.example.demobase.dto.GamePageDTO;
 import com.example.demobase.dto.GameResponseDTO;
+import com.example.demobase.service.GameExportService;
 import com.example.demobase.service.GameService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
@@ -10,14 +12,19 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -31,6 +38,9 @@ class GameControllerTest {
     @MockBean
     private GameService gameService;
 
+    @MockBean
+    private GameExportService gameExportService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -84,6 +94,64 @@ class GameControllerTest {
         verify(gameService, times(1)).makeGuess(eq(1L), eq('P'));
     }
 
+    @Test
+    void testMakeGuess_CharacterOutsideAlphabetIsBadRequest() throws Exception {
+        // Given
+        Map<String, Object> request = new HashMap<>();
+        request.put("idJugador", 1);
+        request.put("letra", "1");
+
+        // When & Then
+        mockMvc.perform(post("/api/games/guess")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+
+        verify(gameService, never()).makeGuess(any(), any());
+    }
+
+    @Test
+    void testMakeGuesses_CharacterOutsideAlphabetIsBadRequest() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/api/games/guess/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"idJugador\":1,\"letras\":[\"P\",\"?\"]}"))
+                .andExpect(status().isBadRequest());
+
+        verify(gameService, never()).makeGuesses(any(), any(), anyBoolean());
+    }
+
+    @Test
+    void testMakeGuesses() throws Exception {
+        // Given
+        GameResponseDTO primero = new GameResponseDTO();
+        primero.setPalabraOculta("P__________");
+        primero.setLetrasIntentadas(Arrays.asList('P'));
+        primero.setIntentosRestantes(7);
+        primero.setPalabraCompleta(false);
+        primero.setPuntajeAcumulado(0);
+        GameResponseDTO segundo = new GameResponseDTO();
+        segundo.setPalabraOculta("P__________");
+        segundo.setLetrasIntentadas(Arrays.asList('P', 'X'));
+        segundo.setIntentosRestantes(6);
+        segundo.setPalabraCompleta(false);
+        segundo.setPuntajeAcumulado(0);
+
+        when(gameService.makeGuesses(1L, Arrays.asList('P', 'X'), false)).thenReturn(Arrays.asList(primero, segundo));
+
+        // When & Then
+        mockMvc.perform(post("/api/games/guess/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"idJugador\": 1, \"letras\": [\"P\", \"X\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[1].intentosRestantes").value(6))
+                .andExpect(jsonPath("$[1].letrasIntentadas[1]").value("X"));
+
+        verify(gameService, times(1)).makeGuesses(1L, Arrays.asList('P', 'X'), false);
+    }
+
     @Test
     void testGetAllGames() throws Exception {
         // Given
@@ -97,18 +165,19 @@ class GameControllerTest {
         game1.setPalabra("PROGRAMADOR");
 
         List<GameDTO> games = Arrays.asList(game1);
-        when(gameService.getAllGames()).thenReturn(games);
+        when(gameService.getAllGames(null, null)).thenReturn(new GamePageDTO(games, "siguiente"));
 
         // When & Then
         mockMvc.perform(get("/api/games"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(header().string("X-Next-Cursor", "siguiente"))
                 .andExpect(jsonPath("$").isArray())
                 .andExpect(jsonPath("$[0].id").value(1))
                 .andExpect(jsonPath("$[0].resultado").value("GANADO"))
                 .andExpect(jsonPath("$[0].puntaje").value(20));
 
-        verify(gameService, times(1)).getAllGames();
+        verify(gameService, times(1)).getAllGames(null, null);
     }
 
     @Test
@@ -122,16 +191,42 @@ class GameControllerTest {
         game1.setPuntaje(20);
 
         List<GameDTO> games = Arrays.asList(game1);
-        when(gameService.getGamesByPlayer(1L)).thenReturn(games);
+        when(gameService.getGamesByPlayer(1L, "abc", 20)).thenReturn(new GamePageDTO(games, null));
 
         // When & Then
-        mockMvc.perform(get("/api/games/player/1"))
+        mockMvc.perform(get("/api/games/player/1").param("cursor", "abc").param("size", "20"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(header().doesNotExist("X-Next-Cursor"))
                 .andExpect(jsonPath("$").isArray())
                 .andExpect(jsonPath("$[0].idJugador").value(1));
 
-        verify(gameService, times(1)).getGamesByPlayer(1L);
+        verify(gameService, times(1)).getGamesByPlayer(1L, "abc", 20);
     }
-}
 
+    @Test
+    void testExportGames_Csv() throws Exception {
+        // Given
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(4);
+            out.write("id,idJugador\n1,1\n".getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        }).when(gameExportService).export(eq(GameExportService.Format.CSV),
+                eq(LocalDateTime.of(2025, 1, 1, 0, 0)), isNull(), eq(1L), any(OutputStream.class));
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/games/export")
+                        .param("format", "csv")
+                        .param("desde", "2025-01-01T00:00:00")
+                        .param("playerId", "1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "text/csv"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"games.csv\""))
+                .andExpect(content().string("id,idJugador\n1,1\n"));
+    }
+}
@@ -1,12 +1,18 @@
 package com.example.demobase.controller;
 
+import com.example.demobase.dto.ImportErrorDTO;
+import com.example.demobase.dto.ImportResultDTO;
 import com.example.demobase.dto.PlayerDTO;
+import com.example.demobase.service.PlayerImportService;
 import com.example.demobase.service.PlayerService;
+import com.example.demobase.store.DataVersion;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -21,6 +27,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(PlayerController.class)
+@Import(DataVersion.class)
 class PlayerControllerTest {
 
     @Autowired
@@ -29,6 +36,12 @@ class PlayerControllerTest {
     @MockBean
     private PlayerService playerService;
 
+    @MockBean
+    private PlayerImportService playerImportService;
+
+    @Autowired
+    private DataVersion dataVersion;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -70,6 +83,56 @@ class PlayerControllerTest {
         verify(playerService, times(1)).getPlayerById(1L);
     }
 
+    @Test
+    void testGetPlayerById_NotModified() throws Exception {
+        // Given
+        String etag = dataVersion.players().etag();
+
+        // When & Then
+        mockMvc.perform(get("/api/players/1").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+        mockMvc.perform(get("/api/players").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        verify(playerService, never()).getPlayerById(any());
+        verify(playerService, never()).getAllPlayers();
+    }
+
+    @Test
+    void testGetAllPlayers_ModifiedAfterPlayerChanged() throws Exception {
+        // Given
+        String etag = dataVersion.players().etag();
+        when(playerService.getAllPlayers()).thenReturn(List.of());
+
+        // When
+        dataVersion.playersChanged();
+
+        // Then
+        mockMvc.perform(get("/api/players").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, dataVersion.players().etag()));
+        verify(playerService, times(1)).getAllPlayers();
+    }
+
+    @Test
+    void testImportPlayers_Csv() throws Exception {
+        // Given
+        ImportResultDTO result = new ImportResultDTO(3L, 2L, 1L, List.of(new ImportErrorDTO(2L, "El nombre es obligatorio")));
+        when(playerImportService.importPlayers(eq(PlayerImportService.Format.CSV), any())).thenReturn(result);
+
+        // When & Then
+        mockMvc.perform(post("/api/players/import")
+                        .contentType("text/csv")
+                        .content("nombre,fecha\nAna,2025-01-10\n,2025-01-11\nLuis,\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.importados").value(2))
+                .andExpect(jsonPath("$.rechazados").value(1))
+                .andExpect(jsonPath("$.errores[0].fila").value(2));
+
+        verify(playerImportService, times(1)).importPlayers(eq(PlayerImportService.Format.CSV), any());
+    }
+
     @Test
     void testCreatePlayer() throws Exception {
         // Given
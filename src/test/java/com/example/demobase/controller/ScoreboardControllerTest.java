@@ -1,11 +1,15 @@
 package com.example.demobase.controller;
 
+import com.example.demobase.dto.RankDTO;
 import com.example.demobase.dto.ScoreboardDTO;
 import com.example.demobase.service.ScoreboardService;
+import com.example.demobase.store.DataVersion;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -14,9 +18,11 @@ import java.util.List;
 
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(ScoreboardController.class)
+@Import(DataVersion.class)
 class ScoreboardControllerTest {
 
     @Autowired
@@ -25,6 +31,9 @@ class ScoreboardControllerTest {
     @MockBean
     private ScoreboardService scoreboardService;
 
+    @Autowired
+    private DataVersion dataVersion;
+
     @Test
     void testGetScoreboard() throws Exception {
         // Given
@@ -45,6 +54,42 @@ class ScoreboardControllerTest {
         verify(scoreboardService, times(1)).getScoreboard();
     }
 
+    @Test
+    void testGetScoreboard_NotModified() throws Exception {
+        // Given
+        String etag = mockMvc.perform(get("/api/scoreboard"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // When & Then
+        mockMvc.perform(get("/api/scoreboard").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+        mockMvc.perform(get("/api/scoreboard/top").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        // La segunda y tercera consulta no llegan al servicio
+        verify(scoreboardService, times(1)).getScoreboard();
+        verify(scoreboardService, never()).getTop(anyInt());
+    }
+
+    @Test
+    void testGetScoreboard_ModifiedAfterGameCompleted() throws Exception {
+        // Given
+        String etag = mockMvc.perform(get("/api/scoreboard"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // When
+        dataVersion.scoresChanged();
+
+        // Then
+        mockMvc.perform(get("/api/scoreboard").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, dataVersion.scoreboard().etag()));
+        verify(scoreboardService, times(2)).getScoreboard();
+    }
+
     @Test
     void testGetScoreboardByPlayer() throws Exception {
         // Given
@@ -61,5 +106,46 @@ class ScoreboardControllerTest {
 
         verify(scoreboardService, times(1)).getScoreboardByPlayer(1L);
     }
-}
 
+    @Test
+    void testGetTop() throws Exception {
+        // Given
+        ScoreboardDTO score = new ScoreboardDTO(1L, "Juan Pérez", 45, 3L, 2L, 1L);
+        when(scoreboardService.getTop(1)).thenReturn(List.of(score));
+
+        // When & Then
+        mockMvc.perform(get("/api/scoreboard/top").param("k", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].idJugador").value(1));
+
+        verify(scoreboardService, times(1)).getTop(1);
+    }
+
+    @Test
+    void testGetRankByPlayer() throws Exception {
+        // Given
+        when(scoreboardService.getRankByPlayer(1L)).thenReturn(new RankDTO(1L, "Juan Pérez", 45, 2, 5));
+
+        // When & Then
+        mockMvc.perform(get("/api/scoreboard/player/1/rank"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.posicion").value(2))
+                .andExpect(jsonPath("$.totalJugadores").value(5));
+
+        verify(scoreboardService, times(1)).getRankByPlayer(1L);
+    }
+
+    @Test
+    void testRebuildPlayerStats() throws Exception {
+        // Given
+        when(scoreboardService.rebuildPlayerStats()).thenReturn(2);
+
+        // When & Then
+        mockMvc.perform(post("/api/scoreboard/rebuild"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.jugadores").value(2));
+
+        verify(scoreboardService, times(1)).rebuildPlayerStats();
+    }
+}
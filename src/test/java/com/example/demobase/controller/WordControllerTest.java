@@ -1,17 +1,20 @@
 package com.example.demobase.controller;
 
-import com.example.demobase.dto.WordDTO;
 import com.example.demobase.service.WordService;
+import com.example.demobase.store.WordCatalog;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
-import java.util.Arrays;
-import java.util.List;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
 
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -25,18 +28,21 @@ class WordControllerTest {
     @MockBean
     private WordService wordService;
 
+    private static final String JSON =
+            "[{\"id\":1,\"palabra\":\"PROGRAMADOR\",\"utilizada\":true},{\"id\":2,\"palabra\":\"COMPUTADORA\",\"utilizada\":false}]";
+
+    private final WordCatalog.Snapshot catalogo = WordCatalog.Snapshot.of(1L, JSON.getBytes(StandardCharsets.UTF_8));
+
     @Test
     void testGetAllWords() throws Exception {
         // Given
-        WordDTO word1 = new WordDTO(1L, "PROGRAMADOR", true);
-        WordDTO word2 = new WordDTO(2L, "COMPUTADORA", false);
-        List<WordDTO> words = Arrays.asList(word1, word2);
-        when(wordService.getAllWords()).thenReturn(words);
+        when(wordService.getCatalog()).thenReturn(catalogo);
 
         // When & Then
         mockMvc.perform(get("/api/words"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(header().string(HttpHeaders.ETAG, catalogo.etag()))
                 .andExpect(jsonPath("$").isArray())
                 .andExpect(jsonPath("$[0].id").value(1))
                 .andExpect(jsonPath("$[0].palabra").value("PROGRAMADOR"))
@@ -44,7 +50,61 @@ class WordControllerTest {
                 .andExpect(jsonPath("$[1].id").value(2))
                 .andExpect(jsonPath("$[1].utilizada").value(false));
 
-        verify(wordService, times(1)).getAllWords();
+        verify(wordService, times(1)).getCatalog();
+    }
+
+    @Test
+    void testGetAllWords_NotModified() throws Exception {
+        // Given
+        when(wordService.getCatalog()).thenReturn(catalogo);
+
+        // When & Then
+        mockMvc.perform(get("/api/words").header(HttpHeaders.IF_NONE_MATCH, catalogo.etag()))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, catalogo.etag()))
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    void testGetAllWords_Gzip() throws Exception {
+        // Given
+        when(wordService.getCatalog()).thenReturn(catalogo);
+
+        // When
+        byte[] body = mockMvc.perform(get("/api/words").header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.ETAG, catalogo.gzipEtag()))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Then
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            assertEquals(JSON, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void testGetAllWords_GzipRejectedWithQualityZero() throws Exception {
+        // Given
+        when(wordService.getCatalog()).thenReturn(catalogo);
+
+        // When & Then
+        mockMvc.perform(get("/api/words").header(HttpHeaders.ACCEPT_ENCODING, "*, gzip;q=0"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(header().string(HttpHeaders.ETAG, catalogo.etag()))
+                .andExpect(content().bytes(JSON.getBytes(StandardCharsets.UTF_8)));
     }
-}
 
+    @Test
+    void testGetAllWords_GzipAcceptedThroughWildcard() throws Exception {
+        // Given
+        when(wordService.getCatalog()).thenReturn(catalogo);
+
+        // When & Then
+        mockMvc.perform(get("/api/words").header(HttpHeaders.ACCEPT_ENCODING, "identity, *;q=0.5"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.ETAG, catalogo.gzipEtag()));
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.demobase.game;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AlphabetTest {
+
+    @Test
+    void testIndexOf_CoversSpanishLetters() {
+        assertEquals(0, Alphabet.indexOf('A'));
+        assertEquals(25, Alphabet.indexOf('z'));
+        assertEquals(26, Alphabet.indexOf('ñ'));
+        assertEquals(27, Alphabet.indexOf('Á'));
+        assertEquals(-1, Alphabet.indexOf('3'));
+        assertEquals(-1, Alphabet.indexOf(' '));
+        assertTrue(Alphabet.SIZE <= Long.SIZE);
+    }
+
+    @Test
+    void testAddContainsAndCount() {
+        long mask = 0L;
+        mask = Alphabet.add(mask, 'P');
+        mask = Alphabet.add(mask, 'r');
+        mask = Alphabet.add(mask, 'P');
+
+        assertTrue(Alphabet.contains(mask, 'P'));
+        assertTrue(Alphabet.contains(mask, 'R'));
+        assertFalse(Alphabet.contains(mask, 'X'));
+        assertFalse(Alphabet.contains(mask, '-'));
+        assertEquals(2, Alphabet.count(mask));
+    }
+
+    @Test
+    void testBit_InvalidLetter() {
+        assertThrows(IllegalArgumentException.class, () -> Alphabet.bit('#'));
+    }
+
+    @Test
+    void testToList_AlphabeticalOrder() {
+        long mask = Alphabet.fromLegacy("R,Ñ,A");
+        assertEquals(Arrays.asList('A', 'R', 'Ñ'), Alphabet.toList(mask));
+    }
+
+    @Test
+    void testFromLegacy() {
+        assertEquals(0L, Alphabet.fromLegacy(null));
+        assertEquals(0L, Alphabet.fromLegacy(""));
+        assertEquals(Alphabet.bit('A') | Alphabet.bit('B'), Alphabet.fromLegacy("A, B,,1"));
+    }
+}
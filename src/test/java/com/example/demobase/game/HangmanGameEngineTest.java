@@ -0,0 +1,75 @@
+package com.example.demobase.game;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HangmanGameEngineTest {
+
+    private final GameEngine engine = new HangmanGameEngine();
+    private final WordIndex palabra = WordIndex.of("PROGRAMADOR");
+
+    private GameState play(String letras) {
+        GameState estado = engine.start(palabra);
+        for (char letra : letras.toCharArray()) {
+            estado = engine.guess(palabra, estado, letra);
+        }
+        return estado;
+    }
+
+    @Test
+    void testStart_ShowsOnlyFixedPositions() {
+        GameState estado = engine.start(WordIndex.of("ABRE-LATAS"));
+
+        assertEquals(0L, estado.letrasIntentadas());
+        assertEquals(1L << 4, estado.posicionesReveladas());
+        assertEquals(HangmanGameEngine.MAX_INTENTOS, estado.intentosRestantes());
+        assertEquals("____-_____", engine.hiddenWord(WordIndex.of("ABRE-LATAS"), estado));
+    }
+
+    @Test
+    void testGuess_RevealsLetterOrSpendsAttempt() {
+        GameState estado = play("rX");
+
+        assertEquals("_R__R_____R", engine.hiddenWord(palabra, estado));
+        assertEquals(6, estado.intentosRestantes());
+        assertEquals(2, Alphabet.count(estado.letrasIntentadas()));
+        assertFalse(engine.isOver(palabra, estado));
+        assertEquals(0, engine.score(palabra, estado));
+    }
+
+    @Test
+    void testGuess_RepeatedLetterReturnsSameState() {
+        GameState estado = play("PX");
+
+        assertSame(estado, engine.guess(palabra, estado, 'x'));
+        assertSame(estado, engine.guess(palabra, estado, 'P'));
+    }
+
+    @Test
+    void testGuess_InvalidLetter() {
+        GameState estado = engine.start(palabra);
+
+        assertThrows(IllegalArgumentException.class, () -> engine.guess(palabra, estado, '3'));
+    }
+
+    @Test
+    void testScore_WonGame() {
+        GameState estado = play("PROGAMD");
+
+        assertTrue(engine.isWon(palabra, estado));
+        assertTrue(engine.isOver(palabra, estado));
+        assertEquals(20, engine.score(palabra, estado));
+        assertEquals("PROGRAMADOR", engine.hiddenWord(palabra, estado));
+    }
+
+    @Test
+    void testScore_LostGameCountsCorrectLetters() {
+        GameState estado = play("PRXYZWKQJ");
+
+        assertFalse(engine.isWon(palabra, estado));
+        assertTrue(engine.isOver(palabra, estado));
+        assertEquals(0, estado.intentosRestantes());
+        assertEquals(2, engine.score(palabra, estado));
+    }
+}
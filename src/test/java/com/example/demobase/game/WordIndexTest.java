@@ -0,0 +1,60 @@
+package com.example.demobase.game;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WordIndexTest {
+
+    @Test
+    void testOf_BuildsLetterAndPositionMasks() {
+        WordIndex index = WordIndex.of("programador");
+
+        assertEquals("PROGRAMADOR", index.getPalabra());
+        assertEquals(11, index.length());
+        assertEquals(7, index.correctLetters(~0L)); // P R O G A M D
+        assertTrue(index.contains('r'));
+        assertFalse(index.contains('X'));
+        // R aparece en las posiciones 1, 4 y 10
+        assertEquals((1L << 1) | (1L << 4) | (1L << 10), index.positionsOf('R'));
+        assertEquals(0L, index.positionsOf('X'));
+        assertEquals(0L, index.getPosicionesFijas());
+    }
+
+    @Test
+    void testCorrectLetters() {
+        WordIndex index = WordIndex.of("PROGRAMADOR");
+
+        long casi = Alphabet.fromLegacy("P,R,O,G,A,M,X");
+        assertEquals(6, index.correctLetters(casi));
+        assertEquals(7, index.correctLetters(Alphabet.add(casi, 'D')));
+    }
+
+    @Test
+    void testOf_NonLettersAreFixedPositions() {
+        WordIndex index = WordIndex.of("AB-C D");
+
+        assertEquals((1L << 2) | (1L << 4), index.getPosicionesFijas());
+        assertEquals(4, index.correctLetters(~0L));
+    }
+
+    @Test
+    void testRevealedByAndRender() {
+        WordIndex index = WordIndex.of("PROGRAMADOR");
+
+        long reveladas = index.revealedBy(Alphabet.fromLegacy("P,R,X"));
+        assertEquals("PR__R_____R", index.render(reveladas));
+
+        reveladas |= index.positionsOf('O');
+        assertEquals("PRO_R____OR", index.render(reveladas));
+        assertNotEquals(index.allPositions(), reveladas);
+
+        assertEquals(index.allPositions(), index.revealedBy(Alphabet.fromLegacy("P,R,O,G,A,M,D")));
+        assertEquals("PROGRAMADOR", index.render(index.allPositions()));
+    }
+
+    @Test
+    void testOf_TooLong() {
+        assertThrows(IllegalArgumentException.class, () -> WordIndex.of("A".repeat(WordIndex.MAX_LENGTH + 1)));
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.demobase.load;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Pedidos a un endpoint: latencias, respuestas por código de estado (0 si no hubo respuesta)
+// y la duración de la fase en que se midieron, para calcular pedidos por segundo
+public final class EndpointStats {
+
+    private final String nombre;
+    private final LatencyHistogram latencias = new LatencyHistogram();
+    private final Map<Integer, LongAdder> estados = new ConcurrentSkipListMap<>();
+    private final LongAdder errores = new LongAdder();
+    private volatile double segundos;
+
+    public EndpointStats(String nombre) {
+        this.nombre = nombre;
+    }
+
+    // Un único endpoint con los pedidos de todos, medidos durante la misma fase
+    public static EndpointStats merge(String nombre, List<EndpointStats> partes) {
+        EndpointStats total = new EndpointStats(nombre);
+        for (EndpointStats parte : partes) {
+            total.latencias.merge(parte.latencias);
+            parte.estados.forEach((estado, cantidad) ->
+                    total.estados.computeIfAbsent(estado, e -> new LongAdder()).add(cantidad.sum()));
+            total.errores.add(parte.errores.sum());
+            total.segundos = Math.max(total.segundos, parte.segundos);
+        }
+        return total;
+    }
+
+    public void record(long nanos, int estado) {
+        latencias.record(nanos);
+        estados.computeIfAbsent(estado, e -> new LongAdder()).increment();
+        if (estado < 200 || estado >= 300) {
+            errores.increment();
+        }
+    }
+
+    void setSegundos(double segundos) {
+        this.segundos = segundos;
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    public LatencyHistogram getLatencias() {
+        return latencias;
+    }
+
+    public long getPedidos() {
+        return latencias.count();
+    }
+
+    public long getErrores() {
+        return errores.sum();
+    }
+
+    public double getSegundos() {
+        return segundos;
+    }
+
+    public double getPedidosPorSegundo() {
+        return segundos == 0 ? 0 : getPedidos() / segundos;
+    }
+
+    public Map<Integer, Long> getEstados() {
+        Map<Integer, Long> copia = new ConcurrentSkipListMap<>();
+        estados.forEach((estado, cantidad) -> copia.put(estado, cantidad.sum()));
+        return copia;
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.demobase.load;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Prueba de carga antes de cada versión: mvn -Pbenchmark test -Dtest=GameLoadTest
+// con los parámetros de LoadTestRunner.Config. El reporte queda en target/load-test/
+// (o en -Dload.report) y la prueba falla si algún pedido respondió con error.
+@Tag("benchmark")
+class GameLoadTest {
+
+    @Test
+    void runLoadTest() throws Exception {
+        LoadTestRunner.Config config = LoadTestRunner.Config.fromSystemProperties();
+
+        LoadReport report = new LoadTestRunner().run(config);
+
+        Path archivo = report.write(Path.of(System.getProperty("load.report", "target/load-test/" + config.nombre() + ".md")));
+        assertEquals((long) config.jugadores() * config.partidas(),
+                report.endpoint(LoadTestRunner.INICIAR_PARTIDA).getPedidos());
+        assertEquals(0, report.errores(), "Hubo pedidos con error, ver " + archivo.toAbsolutePath());
+    }
+}
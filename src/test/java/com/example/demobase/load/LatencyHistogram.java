@@ -0,0 +1,109 @@
+package com.example.demobase.load;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+// Histograma de latencias en microsegundos con error relativo acotado: exacto hasta 64 µs y
+// después 32 buckets por cada potencia de 2 (error menor al 3%). Admite registros desde
+// muchos hilos a la vez sin bloquear.
+public final class LatencyHistogram {
+
+    private static final int LINEAL = 64;
+    private static final int BITS_SUB = 5;
+    private static final int SUB_BUCKETS = 1 << BITS_SUB;
+    // Exponentes de 6 (64 µs) a 62
+    private static final int BUCKETS = LINEAL + (Long.SIZE - 6) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder total = new LongAdder();
+    private final LongAdder sumaMicros = new LongAdder();
+    private final LongAccumulator maximo = new LongAccumulator(Math::max, 0);
+
+    public void record(long nanos) {
+        recordMicros(Math.max(0, nanos / 1000));
+    }
+
+    private void recordMicros(long micros) {
+        counts.incrementAndGet(index(micros));
+        total.increment();
+        sumaMicros.add(micros);
+        maximo.accumulate(micros);
+    }
+
+    public void merge(LatencyHistogram otro) {
+        for (int i = 0; i < BUCKETS; i++) {
+            long cantidad = otro.counts.get(i);
+            if (cantidad > 0) {
+                counts.addAndGet(i, cantidad);
+            }
+        }
+        total.add(otro.total.sum());
+        sumaMicros.add(otro.sumaMicros.sum());
+        maximo.accumulate(otro.maximo.get());
+    }
+
+    public long count() {
+        return total.sum();
+    }
+
+    public double meanMillis() {
+        long cantidad = count();
+        return cantidad == 0 ? 0 : sumaMicros.sum() / (cantidad * 1000.0);
+    }
+
+    public double maxMillis() {
+        return maximo.get() / 1000.0;
+    }
+
+    // Percentil entre 0 y 1; devuelve el límite superior del bucket, nunca más que el máximo
+    public double percentileMillis(double percentil) {
+        long cantidad = count();
+        if (cantidad == 0) {
+            return 0;
+        }
+        long objetivo = Math.max(1, (long) Math.ceil(percentil * cantidad));
+        long acumulado = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            acumulado += counts.get(i);
+            if (acumulado >= objetivo) {
+                return Math.min(lowerBound(i + 1) - 1, maximo.get()) / 1000.0;
+            }
+        }
+        return maxMillis();
+    }
+
+    // Registros en [desde, hasta) microsegundos, según el bucket en que cayeron
+    public long countBetween(long desdeMicros, long hastaMicros) {
+        long cantidad = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            long inicio = lowerBound(i);
+            if (inicio >= desdeMicros && inicio < hastaMicros) {
+                cantidad += counts.get(i);
+            }
+        }
+        return cantidad;
+    }
+
+    static int index(long micros) {
+        if (micros < LINEAL) {
+            return (int) micros;
+        }
+        int exponente = 63 - Long.numberOfLeadingZeros(micros);
+        int sub = (int) ((micros >>> (exponente - BITS_SUB)) & (SUB_BUCKETS - 1));
+        return LINEAL + (exponente - 6) * SUB_BUCKETS + sub;
+    }
+
+    // Menor valor que cae en el bucket
+    static long lowerBound(int index) {
+        if (index < LINEAL) {
+            return index;
+        }
+        if (index >= BUCKETS) {
+            return Long.MAX_VALUE;
+        }
+        int exponente = (index - LINEAL) / SUB_BUCKETS + 6;
+        int sub = (index - LINEAL) % SUB_BUCKETS;
+        return (1L << exponente) + ((long) sub << (exponente - BITS_SUB));
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.demobase.load;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    void testIndexAndLowerBound_AreConsistent() {
+        for (long micros : new long[]{0, 1, 63, 64, 65, 127, 128, 1000, 999_999, 123_456_789L}) {
+            int index = LatencyHistogram.index(micros);
+            assertTrue(LatencyHistogram.lowerBound(index) <= micros);
+            assertTrue(LatencyHistogram.lowerBound(index + 1) > micros);
+        }
+        assertEquals(64, LatencyHistogram.lowerBound(LatencyHistogram.index(64)));
+    }
+
+    @Test
+    void testPercentiles_WithinRelativeError() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        // 1 a 1000 ms
+        for (int ms = 1; ms <= 1000; ms++) {
+            histogram.record(ms * 1_000_000L);
+        }
+
+        assertEquals(1000, histogram.count());
+        assertEquals(500.5, histogram.meanMillis(), 0.001);
+        assertEquals(500, histogram.percentileMillis(0.50), 500 * 0.04);
+        assertEquals(990, histogram.percentileMillis(0.99), 990 * 0.04);
+        assertEquals(1000, histogram.percentileMillis(1.0), 0.001);
+        assertEquals(1000, histogram.maxMillis(), 0.001);
+        assertEquals(1000, histogram.countBetween(0, Long.MAX_VALUE));
+    }
+
+    @Test
+    void testMerge() {
+        LatencyHistogram a = new LatencyHistogram();
+        LatencyHistogram b = new LatencyHistogram();
+        a.record(10_000);
+        b.record(20_000);
+        b.record(5_000_000);
+
+        a.merge(b);
+
+        assertEquals(3, a.count());
+        assertEquals(5, a.maxMillis(), 0.001);
+        assertEquals(2, a.countBetween(0, 1000));
+    }
+}
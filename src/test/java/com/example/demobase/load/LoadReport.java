@@ -0,0 +1,81 @@
+package com.example.demobase.load;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Resultado de una corrida de LoadTestRunner, en Markdown
+public record LoadReport(LoadTestRunner.Config config, List<EndpointStats> endpoints) {
+
+    // Límites del histograma del reporte, en milisegundos
+    private static final long[] LIMITES_MS = {1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000};
+
+    public EndpointStats endpoint(String nombre) {
+        return endpoints.stream()
+                .filter(endpoint -> endpoint.getNombre().equals(nombre))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Endpoint no medido: " + nombre));
+    }
+
+    public long errores() {
+        return endpoints.stream().mapToLong(EndpointStats::getErrores).sum();
+    }
+
+    public Path write(Path archivo) throws IOException {
+        Files.createDirectories(archivo.toAbsolutePath().getParent());
+        Files.writeString(archivo, "# Prueba de carga\n\n" + toMarkdown(), StandardCharsets.UTF_8);
+        return archivo;
+    }
+
+    public String toMarkdown() {
+        StringBuilder reporte = new StringBuilder()
+                .append("## ").append(config.nombre()).append("\n\n")
+                .append("Java ").append(Runtime.version()).append(", ")
+                .append(Runtime.getRuntime().availableProcessors()).append(" procesadores, hilos ")
+                .append(config.hilosVirtuales() ? "virtuales" : "de plataforma").append(" en el servidor. ")
+                .append(config.jugadores()).append(" jugadores, ").append(config.clientes()).append(" clientes concurrentes, ")
+                .append(config.partidas()).append(" partidas medidas por jugador (más ").append(config.calentamiento())
+                .append(" de calentamiento), 1 start + ").append(LoadTestRunner.INTENTOS_POR_PARTIDA)
+                .append(" intentos por partida.\n\n")
+                .append("| Endpoint | Pedidos | Errores | Pedidos/s | Media (ms) | p50 | p90 | p99 | p99.9 | Máx. |\n")
+                .append("|---|---:|---:|---:|---:|---:|---:|---:|---:|---:|\n");
+        for (EndpointStats endpoint : endpoints) {
+            LatencyHistogram latencias = endpoint.getLatencias();
+            reporte.append(String.format(Locale.ROOT, "| %s | %d | %d | %.0f | %.2f | %.2f | %.2f | %.2f | %.2f | %.2f |%n",
+                    endpoint.getNombre(), endpoint.getPedidos(), endpoint.getErrores(), endpoint.getPedidosPorSegundo(),
+                    latencias.meanMillis(), latencias.percentileMillis(0.50), latencias.percentileMillis(0.90),
+                    latencias.percentileMillis(0.99), latencias.percentileMillis(0.999), latencias.maxMillis()));
+        }
+
+        reporte.append("\n### Histograma de latencias (pedidos por rango, ms)\n\n| Endpoint |");
+        for (long limite : LIMITES_MS) {
+            reporte.append(" ≤").append(limite).append(" |");
+        }
+        reporte.append(" >").append(LIMITES_MS[LIMITES_MS.length - 1]).append(" |\n|---|");
+        reporte.append("---:|".repeat(LIMITES_MS.length + 1)).append('\n');
+        for (EndpointStats endpoint : endpoints) {
+            reporte.append("| ").append(endpoint.getNombre()).append(" |");
+            long desde = 0;
+            for (long limite : LIMITES_MS) {
+                reporte.append(' ').append(endpoint.getLatencias().countBetween(desde, limite * 1000)).append(" |");
+                desde = limite * 1000;
+            }
+            reporte.append(' ').append(endpoint.getLatencias().countBetween(desde, Long.MAX_VALUE)).append(" |\n");
+        }
+
+        if (errores() > 0) {
+            reporte.append("\n### Respuestas por estado (0: sin respuesta)\n\n| Endpoint | Estado | Pedidos |\n|---|---:|---:|\n");
+            for (EndpointStats endpoint : endpoints) {
+                for (Map.Entry<Integer, Long> estado : endpoint.getEstados().entrySet()) {
+                    reporte.append("| ").append(endpoint.getNombre()).append(" | ").append(estado.getKey())
+                            .append(" | ").append(estado.getValue()).append(" |\n");
+                }
+            }
+        }
+        return reporte.toString();
+    }
+}
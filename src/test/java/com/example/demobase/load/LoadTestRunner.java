@@ -0,0 +1,273 @@
+package com.example.demobase.load;
+
+import com.example.demobase.DemobaseApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Prueba de carga de punta a punta. Levanta la aplicación con el perfil test (H2 en memoria),
+// crea los jugadores con POST /api/players y juega partidas completas con /api/games/start y
+// /api/games/guess desde varios clientes concurrentes, cada uno en su hilo virtual.
+//
+// Las palabras son permutaciones de las mismas 12 letras y las letras se intentan siempre en el
+// mismo orden: todas las partidas hacen los mismos pedidos y las corridas son comparables.
+// El diccionario se carga por el endpoint de administración y no entra en la medición.
+public class LoadTestRunner {
+
+    public static final String CREAR_JUGADOR = "POST /api/players";
+    public static final String INICIAR_PARTIDA = "POST /api/games/start";
+    public static final String INTENTAR_LETRA = "POST /api/games/guess";
+    public static final String IMPORTAR_JUGADORES = "POST /api/players/import";
+
+    private static final String LETRAS_PALABRA = "ABCDEFGHIJKL";
+    // Tres letras que no están en ninguna palabra: la partida se gana con 15 intentos
+    private static final String INTENTOS = "AZBYCXDEFGHIJKL";
+    public static final int INTENTOS_POR_PARTIDA = INTENTOS.length();
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(60);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    // partidas: medidas por jugador; calentamiento: partidas previas por jugador que no se miden
+    public record Config(String nombre, int jugadores, int clientes, int partidas, int calentamiento,
+                         boolean hilosVirtuales) {
+
+        // -Dload.players=200 -Dload.clients=50 -Dload.games=5 -Dload.warmup=1 -Dload.virtual=false
+        public static Config fromSystemProperties() {
+            boolean virtual = Boolean.getBoolean("load.virtual");
+            int jugadores = Integer.getInteger("load.players", 200);
+            int clientes = Integer.getInteger("load.clients", 50);
+            return new Config(System.getProperty("load.name", "juego-" + jugadores + "x" + clientes + (virtual ? "-virtual" : "")),
+                    jugadores, clientes, Integer.getInteger("load.games", 5), Integer.getInteger("load.warmup", 1), virtual);
+        }
+    }
+
+    public LoadReport run(Config config) throws Exception {
+        EndpointStats crear = new EndpointStats(CREAR_JUGADOR);
+        EndpointStats iniciar = new EndpointStats(INICIAR_PARTIDA);
+        EndpointStats intentar = new EndpointStats(INTENTAR_LETRA);
+        try (ConfigurableApplicationContext context = start(config);
+             HttpClient client = newClient()) {
+            String base = baseUrl(context);
+            loadWords(client, base, config.jugadores() * (config.partidas() + config.calentamiento()));
+
+            long[] ids = new long[config.jugadores()];
+            crear.setSegundos(inParallel(config, cliente -> {
+                for (int i = cliente; i < ids.length; i += config.clientes()) {
+                    ids[i] = createPlayer(client, base, i + 1, crear);
+                }
+            }));
+            inParallel(config, cliente -> {
+                for (int partida = 0; partida < config.calentamiento(); partida++) {
+                    for (int i = cliente; i < ids.length; i += config.clientes()) {
+                        play(client, base, ids[i], null, null);
+                    }
+                }
+            });
+            double segundos = inParallel(config, cliente -> {
+                for (int partida = 0; partida < config.partidas(); partida++) {
+                    for (int i = cliente; i < ids.length; i += config.clientes()) {
+                        play(client, base, ids[i], iniciar, intentar);
+                    }
+                }
+            });
+            iniciar.setSegundos(segundos);
+            intentar.setSegundos(segundos);
+        }
+        return new LoadReport(config, List.of(crear, iniciar, intentar));
+    }
+
+    // Alta de config.jugadores() jugadores de a uno con POST /api/players, desde config.clientes() clientes,
+    // y de otros tantos en un único POST /api/players/import, en la misma instancia. Sin partidas
+    public LoadReport runPlayerImport(Config config) throws Exception {
+        EndpointStats crear = new EndpointStats(CREAR_JUGADOR);
+        EndpointStats importar = new EndpointStats(IMPORTAR_JUGADORES);
+        try (ConfigurableApplicationContext context = start(config);
+             HttpClient client = newClient()) {
+            String base = baseUrl(context);
+            crear.setSegundos(inParallel(config, cliente -> {
+                for (int i = cliente; i < config.jugadores(); i += config.clientes()) {
+                    createPlayer(client, base, i + 1, crear);
+                }
+            }));
+            long inicio = System.nanoTime();
+            importPlayers(client, base, config.jugadores(), importar);
+            importar.setSegundos((System.nanoTime() - inicio) / 1e9);
+        }
+        return new LoadReport(config, List.of(crear, importar));
+    }
+
+    private static HttpClient newClient() {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(30))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    private static String baseUrl(ConfigurableApplicationContext context) {
+        return "http://localhost:" + ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+    }
+
+    // Argumentos de línea de comandos para que tengan prioridad sobre application-test.properties.
+    // Los límites de conexiones y de pool son los mismos en los dos modos de hilos.
+    private static ConfigurableApplicationContext start(Config config) {
+        return new SpringApplicationBuilder(DemobaseApplication.class)
+                .profiles("test")
+                .run("--spring.threads.virtual.enabled=" + config.hilosVirtuales(),
+                        "--spring.datasource.url=jdbc:h2:mem:load-" + config.nombre(),
+                        "--spring.datasource.hikari.maximum-pool-size=20",
+                        "--server.port=0",
+                        "--server.tomcat.max-connections=20000",
+                        "--server.tomcat.accept-count=1000",
+                        "--game.dictionary.path=",
+                        "--logging.level.root=WARN");
+    }
+
+    private interface Cliente {
+        void run(int cliente) throws Exception;
+    }
+
+    // Todos los clientes arrancan juntos; devuelve los segundos hasta que termina el último
+    private static double inParallel(Config config, Cliente tarea) throws Exception {
+        CountDownLatch largada = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futuros = new ArrayList<>(config.clientes());
+            for (int cliente = 0; cliente < config.clientes(); cliente++) {
+                int numero = cliente;
+                futuros.add(executor.submit(() -> {
+                    largada.await();
+                    tarea.run(numero);
+                    return null;
+                }));
+            }
+            long inicio = System.nanoTime();
+            largada.countDown();
+            for (Future<?> futuro : futuros) {
+                futuro.get();
+            }
+            return (System.nanoTime() - inicio) / 1e9;
+        }
+    }
+
+    private static void loadWords(HttpClient client, String base, int cantidad) throws IOException, InterruptedException {
+        StringBuilder diccionario = new StringBuilder(cantidad * (LETRAS_PALABRA.length() + 1));
+        for (int i = 0; i < cantidad; i++) {
+            diccionario.append(permutation(i)).append('\n');
+        }
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(base + "/api/admin/dictionary"))
+                        .header("Content-Type", "text/plain; charset=UTF-8")
+                        .POST(HttpRequest.BodyPublishers.ofString(diccionario.toString(), StandardCharsets.UTF_8))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("No se pudo cargar el diccionario: " + response.body());
+        }
+    }
+
+    // i-ésima permutación de LETRAS_PALABRA (sistema factorial): palabras distintas con las mismas letras
+    static String permutation(int i) {
+        StringBuilder disponibles = new StringBuilder(LETRAS_PALABRA);
+        StringBuilder palabra = new StringBuilder(LETRAS_PALABRA.length());
+        long resto = i;
+        for (int n = LETRAS_PALABRA.length(); n > 0; n--) {
+            long factorial = factorial(n - 1);
+            int indice = (int) (resto / factorial);
+            resto %= factorial;
+            palabra.append(disponibles.charAt(indice));
+            disponibles.deleteCharAt(indice);
+        }
+        return palabra.toString();
+    }
+
+    private static long factorial(int n) {
+        long resultado = 1;
+        for (int i = 2; i <= n; i++) {
+            resultado *= i;
+        }
+        return resultado;
+    }
+
+    private long createPlayer(HttpClient client, String base, int numero, EndpointStats stats) throws IOException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(base + "/api/players"))
+                .timeout(TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"nombre\":\"Jugador " + numero + "\"}"))
+                .build();
+        HttpResponse<String> response = send(client, request, HttpResponse.BodyHandlers.ofString(), stats);
+        if (response == null || response.statusCode() / 100 != 2) {
+            throw new IllegalStateException("No se pudo crear el jugador " + numero
+                    + (response == null ? "" : ": " + response.body()));
+        }
+        return objectMapper.readTree(response.body()).get("id").asLong();
+    }
+
+    // Un arreglo JSON con cantidad jugadores; todos tienen que quedar importados
+    private void importPlayers(HttpClient client, String base, int cantidad, EndpointStats stats) throws IOException {
+        StringBuilder cuerpo = new StringBuilder(cantidad * 40).append('[');
+        for (int i = 1; i <= cantidad; i++) {
+            cuerpo.append(i == 1 ? "" : ",").append("{\"nombre\":\"Importado ").append(i).append("\",\"fecha\":\"2025-01-15\"}");
+        }
+        cuerpo.append(']');
+        HttpRequest request = HttpRequest.newBuilder(URI.create(base + "/api/players/import"))
+                .timeout(TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(cuerpo.toString()))
+                .build();
+        HttpResponse<String> response = send(client, request, HttpResponse.BodyHandlers.ofString(), stats);
+        if (response == null || response.statusCode() != 200
+                || objectMapper.readTree(response.body()).get("importados").asLong() != cantidad) {
+            throw new IllegalStateException("No se pudieron importar los jugadores"
+                    + (response == null ? "" : ": " + response.body()));
+        }
+    }
+
+    // Sin stats (calentamiento) los pedidos no se registran
+    private static void play(HttpClient client, String base, long id, EndpointStats iniciar, EndpointStats intentar) {
+        send(client, HttpRequest.newBuilder(URI.create(base + "/api/games/start/" + id))
+                .timeout(TIMEOUT)
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build(), HttpResponse.BodyHandlers.discarding(), iniciar);
+        for (int i = 0; i < INTENTOS.length(); i++) {
+            String cuerpo = "{\"idJugador\":" + id + ",\"letra\":\"" + INTENTOS.charAt(i) + "\"}";
+            send(client, HttpRequest.newBuilder(URI.create(base + "/api/games/guess"))
+                    .timeout(TIMEOUT)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(cuerpo))
+                    .build(), HttpResponse.BodyHandlers.discarding(), intentar);
+        }
+    }
+
+    // Devuelve null si no hubo respuesta; el error queda registrado con estado 0
+    private static <T> HttpResponse<T> send(HttpClient client, HttpRequest request, HttpResponse.BodyHandler<T> handler,
+                                            EndpointStats stats) {
+        long inicio = System.nanoTime();
+        HttpResponse<T> response = null;
+        try {
+            response = client.send(request, handler);
+        } catch (IOException e) {
+            // Conexión rechazada o timeout: cuenta como error
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (stats != null) {
+            stats.record(System.nanoTime() - inicio, response == null ? 0 : response.statusCode());
+        }
+        return response;
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.demobase.load;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Compara el alta de jugadores de a uno (POST /api/players desde varios clientes a la vez) con la
+// importación de la misma cantidad en un solo POST /api/players/import, con LoadTestRunner.
+// Solo corre con mvn -Pbenchmark test. Parámetros: -Dbenchmark.import.players=10000
+// -Dbenchmark.import.clients=50. Resultado en target/benchmark/player-import.md; la prueba falla
+// si la importación no llega a 10 veces los jugadores por segundo del alta individual.
+@Tag("benchmark")
+class PlayerImportBenchmarkTest {
+
+    private static final Path REPORTE = Path.of("target", "benchmark", "player-import.md");
+    private static final double MEJORA_MINIMA = 10;
+
+    @Test
+    void compareImportWithIndividualInserts() throws Exception {
+        int jugadores = Integer.getInteger("benchmark.import.players", 10000);
+        int clientes = Integer.getInteger("benchmark.import.clients", 50);
+        LoadTestRunner.Config config = new LoadTestRunner.Config("importacion-" + jugadores, jugadores, clientes, 0, 0, false);
+
+        LoadReport corrida = new LoadTestRunner().runPlayerImport(config);
+
+        EndpointStats crear = corrida.endpoint(LoadTestRunner.CREAR_JUGADOR);
+        EndpointStats importar = corrida.endpoint(LoadTestRunner.IMPORTAR_JUGADORES);
+        double individual = jugadores / crear.getSegundos();
+        double importacion = jugadores / importar.getSegundos();
+        double mejora = importacion / individual;
+
+        String reporte = new StringBuilder()
+                .append("# Importación de jugadores frente al alta individual (H2 en memoria)\n\n")
+                .append(String.format(Locale.ROOT, "Java %s, %d procesadores. %d jugadores por cada vía, %d clientes concurrentes en el alta individual.%n%n",
+                        Runtime.version(), Runtime.getRuntime().availableProcessors(), jugadores, clientes))
+                .append("| Vía | Pedidos | Segundos | Jugadores/s |\n")
+                .append("|---|---:|---:|---:|\n")
+                .append(String.format(Locale.ROOT, "| %s | %d | %.2f | %.0f |%n", crear.getNombre(), crear.getPedidos(), crear.getSegundos(), individual))
+                .append(String.format(Locale.ROOT, "| %s | %d | %.2f | %.0f |%n", importar.getNombre(), importar.getPedidos(), importar.getSegundos(), importacion))
+                .append(String.format(Locale.ROOT, "%nLa importación inserta %.1f veces más jugadores por segundo (mínimo esperado: %.0f).%n", mejora, MEJORA_MINIMA))
+                .toString();
+        Files.createDirectories(REPORTE.getParent());
+        Files.writeString(REPORTE, reporte, StandardCharsets.UTF_8);
+
+        assertEquals(0, corrida.errores(), "Hubo pedidos con error, ver " + REPORTE.toAbsolutePath());
+        assertTrue(mejora >= MEJORA_MINIMA, String.format(Locale.ROOT,
+                "La importación solo es %.1f veces más rápida, ver %s", mejora, REPORTE.toAbsolutePath()));
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.demobase.load;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Compara el modo de hilos de plataforma con el de hilos virtuales (spring.threads.virtual.enabled)
+// con LoadTestRunner: un cliente por jugador, todos a la vez. Solo corre con mvn -Pbenchmark test.
+// Parámetros: -Dbenchmark.players=1000,10000 -Dbenchmark.rounds=3. Resultado en
+// target/benchmark/serving-mode.md, con el resumen y el detalle por endpoint de cada corrida.
+@Tag("benchmark")
+class ServingModeBenchmarkTest {
+
+    private static final Path REPORTE = Path.of("target", "benchmark", "serving-mode.md");
+
+    @Test
+    void compareServingModes() throws Exception {
+        int[] jugadores = Arrays.stream(System.getProperty("benchmark.players", "1000,10000").split(","))
+                .map(String::trim)
+                .mapToInt(Integer::parseInt)
+                .toArray();
+        int rondas = Integer.getInteger("benchmark.rounds", 3);
+
+        List<LoadReport> corridas = new ArrayList<>();
+        for (int cantidad : jugadores) {
+            for (boolean virtual : new boolean[]{false, true}) {
+                String nombre = (virtual ? "virtual" : "plataforma") + "-" + cantidad;
+                corridas.add(new LoadTestRunner().run(new LoadTestRunner.Config(nombre, cantidad, cantidad, rondas, 1, virtual)));
+            }
+        }
+
+        String reporte = report(corridas);
+        Files.createDirectories(REPORTE.getParent());
+        Files.writeString(REPORTE, reporte, StandardCharsets.UTF_8);
+        assertEquals(jugadores.length * 2, corridas.size());
+    }
+
+    // Resumen con los pedidos de juego (start + intentos) de cada corrida
+    private static String report(List<LoadReport> corridas) {
+        StringBuilder reporte = new StringBuilder()
+                .append("# Benchmark de modo de atención (H2 en memoria)\n\n")
+                .append("| Modo | Jugadores | Pedidos | Errores | Pedidos/s | p50 (ms) | p99 (ms) | Máx. (ms) |\n")
+                .append("|---|---:|---:|---:|---:|---:|---:|---:|\n");
+        for (LoadReport corrida : corridas) {
+            EndpointStats juego = EndpointStats.merge("juego", List.of(
+                    corrida.endpoint(LoadTestRunner.INICIAR_PARTIDA), corrida.endpoint(LoadTestRunner.INTENTAR_LETRA)));
+            reporte.append(String.format(Locale.ROOT, "| %s | %d | %d | %d | %.0f | %.1f | %.1f | %.1f |%n",
+                    corrida.config().hilosVirtuales() ? "virtual" : "plataforma", corrida.config().jugadores(),
+                    juego.getPedidos(), juego.getErrores(), juego.getPedidosPorSegundo(),
+                    juego.getLatencias().percentileMillis(0.50), juego.getLatencias().percentileMillis(0.99),
+                    juego.getLatencias().maxMillis()));
+        }
+        for (LoadReport corrida : corridas) {
+            reporte.append('\n').append(corrida.toMarkdown());
+        }
+        return reporte.toString();
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.demobase.metrics;
+
+import com.example.demobase.repository.WordRepository;
+import com.example.demobase.store.ActiveGameStore;
+import com.example.demobase.store.GameCompletionQueue;
+import com.example.demobase.store.WordPool;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GameMetricsTest {
+
+    @Mock
+    private ActiveGameStore activeGameStore;
+
+    @Mock
+    private WordPool wordPool;
+
+    @Mock
+    private WordRepository wordRepository;
+
+    @Mock
+    private GameCompletionQueue gameCompletionQueue;
+
+    private SimpleMeterRegistry registry;
+    private GameMetrics gameMetrics;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        gameMetrics = new GameMetrics(registry, activeGameStore, wordPool, wordRepository, gameCompletionQueue);
+    }
+
+    @Test
+    void testTimers_SeparateSuccessAndError() {
+        gameMetrics.recordStart(TimeUnit.MILLISECONDS.toNanos(3), true);
+        gameMetrics.recordStart(TimeUnit.MILLISECONDS.toNanos(5), true);
+        gameMetrics.recordStart(TimeUnit.MILLISECONDS.toNanos(1), false);
+        gameMetrics.recordGuess(TimeUnit.MILLISECONDS.toNanos(2), true);
+
+        assertEquals(2, registry.get("game.start").tag("outcome", "success").timer().count());
+        assertEquals(8.0, registry.get("game.start").tag("outcome", "success").timer().totalTime(TimeUnit.MILLISECONDS));
+        assertEquals(1, registry.get("game.start").tag("outcome", "error").timer().count());
+        assertEquals(1, registry.get("game.guess").tag("outcome", "success").timer().count());
+        assertEquals(0, registry.get("game.guess").tag("outcome", "error").timer().count());
+    }
+
+    @Test
+    void testCounters_WonAndLost() {
+        gameMetrics.gameFinished(true);
+        gameMetrics.gameFinished(true);
+        gameMetrics.gameFinished(false);
+
+        assertEquals(2.0, registry.get("game.finished").tag("result", "won").counter().count());
+        assertEquals(1.0, registry.get("game.finished").tag("result", "lost").counter().count());
+    }
+
+    @Test
+    void testGauges_ReadCurrentValues() {
+        when(activeGameStore.size()).thenReturn(12);
+        when(wordPool.available()).thenReturn(40);
+        when(wordRepository.countByUtilizadaFalse()).thenReturn(950L);
+        when(gameCompletionQueue.pending()).thenReturn(3);
+
+        assertEquals(12.0, registry.get("game.sessions.active").gauge().value());
+        assertEquals(40.0, registry.get("game.words.reserved").gauge().value());
+        assertEquals(950.0, registry.get("game.words.remaining").gauge().value());
+        assertEquals(3.0, registry.get("game.completion.pending").gauge().value());
+    }
+
+    @Test
+    void testFailedCompletions_ReadFromQueue() {
+        when(gameCompletionQueue.failed()).thenReturn(2L);
+
+        assertEquals(2.0, registry.get("game.completion.failed").functionCounter().count());
+    }
+
+    @Test
+    void testOverflowedCompletions_ReadFromQueue() {
+        when(gameCompletionQueue.overflowed()).thenReturn(4L);
+
+        assertEquals(4.0, registry.get("game.completion.overflow").functionCounter().count());
+    }
+
+    @Test
+    void testRemainingWords_DatabaseErrorIsNaN() {
+        when(wordRepository.countByUtilizadaFalse()).thenThrow(new IllegalStateException("sin conexión"));
+
+        assertTrue(Double.isNaN(registry.get("game.words.remaining").gauge().value()));
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.demobase.repository;
+
+import com.example.demobase.dto.GameDTO;
+import com.example.demobase.model.Game;
+import com.example.demobase.model.Player;
+import com.example.demobase.model.Word;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class GameRepositoryTest {
+
+    private static final int PARTIDAS = 10;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    private Player juan;
+    private Player maria;
+
+    @BeforeEach
+    void setUp() {
+        juan = entityManager.persist(new Player(null, "Juan Pérez", LocalDate.of(2025, 1, 15)));
+        maria = entityManager.persist(new Player(null, "María García", LocalDate.of(2025, 1, 20)));
+        LocalDateTime fecha = LocalDateTime.of(2025, 2, 1, 12, 0);
+        // Varias partidas comparten fecha para probar el desempate por id
+        for (int i = 0; i < PARTIDAS; i++) {
+            Word palabra = i % 3 == 0 ? null : entityManager.persist(new Word(null, "PALABRALARGA" + i, true));
+            persistGame(i % 2 == 0 ? juan : maria, palabra, fecha.plusMinutes(i / 3));
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private void persistGame(Player jugador, Word palabra, LocalDateTime fecha) {
+        Game game = new Game();
+        game.setJugador(jugador);
+        game.setPalabra(palabra);
+        game.setResultado("GANADO");
+        game.setPuntaje(20);
+        game.setFechaPartida(fecha);
+        entityManager.persist(game);
+    }
+
+    private static List<Long> ids(List<GameDTO> games) {
+        return games.stream().map(GameDTO::getId).collect(Collectors.toList());
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+
+    @Test
+    void testPagesCoverAllGamesInOrderWithoutRepeats() {
+        List<GameDTO> all = new ArrayList<>();
+        List<GameDTO> page = gameRepository.findFirstPage(PageRequest.of(0, 4));
+        while (!page.isEmpty()) {
+            all.addAll(page);
+            GameDTO last = page.get(page.size() - 1);
+            page = gameRepository.findPageAfter(last.getFechaPartida(), last.getId(), PageRequest.of(0, 4));
+        }
+
+        assertEquals(PARTIDAS, all.size());
+        assertEquals(PARTIDAS, ids(all).stream().distinct().count());
+        for (int i = 1; i < all.size(); i++) {
+            GameDTO previous = all.get(i - 1);
+            GameDTO current = all.get(i);
+            int cmp = current.getFechaPartida().compareTo(previous.getFechaPartida());
+            assertTrue(cmp < 0 || (cmp == 0 && current.getId() < previous.getId()));
+        }
+    }
+
+    @Test
+    void testPagesByPlayer() {
+        List<GameDTO> first = gameRepository.findFirstPageByJugadorId(maria.getId(), PageRequest.of(0, 3));
+        assertEquals(3, first.size());
+        assertTrue(first.stream().allMatch(g -> g.getIdJugador().equals(maria.getId())));
+        assertTrue(first.stream().allMatch(g -> "María García".equals(g.getNombreJugador())));
+
+        GameDTO last = first.get(2);
+        List<GameDTO> rest = gameRepository.findPageByJugadorIdAfter(maria.getId(), last.getFechaPartida(), last.getId(), PageRequest.of(0, 3));
+        assertEquals(2, rest.size());
+        assertTrue(ids(rest).stream().noneMatch(ids(first)::contains));
+    }
+
+    @Test
+    void testProjection_OneStatementRegardlessOfPageSize() {
+        Statistics statistics = statistics();
+        List<GameDTO> two = gameRepository.findFirstPage(PageRequest.of(0, 2));
+        assertEquals(2, two.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        statistics = statistics();
+        List<GameDTO> all = gameRepository.findFirstPage(PageRequest.of(0, PARTIDAS));
+        assertEquals(PARTIDAS, all.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        // Jugador y palabra ya vienen en la fila, incluidas las partidas sin palabra
+        assertTrue(all.stream().allMatch(g -> g.getNombreJugador() != null));
+        assertEquals(PARTIDAS - 4, all.stream().filter(g -> g.getPalabra() != null).count());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void testProjectionByPlayer_OneStatement() {
+        Statistics statistics = statistics();
+        List<GameDTO> games = gameRepository.findFirstPageByJugadorId(juan.getId(), PageRequest.of(0, PARTIDAS));
+        assertEquals(PARTIDAS / 2, games.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+}
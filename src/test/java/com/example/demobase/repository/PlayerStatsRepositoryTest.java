@@ -0,0 +1,78 @@
+package com.example.demobase.repository;
+
+import com.example.demobase.dto.ScoreboardDTO;
+import com.example.demobase.model.Player;
+import com.example.demobase.model.PlayerStats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class PlayerStatsRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PlayerStatsRepository playerStatsRepository;
+
+    private Player juan;
+    private Player maria;
+    private Player pedro;
+
+    @BeforeEach
+    void setUp() {
+        juan = entityManager.persist(new Player(null, "Juan Pérez", LocalDate.of(2025, 1, 15)));
+        maria = entityManager.persist(new Player(null, "María García", LocalDate.of(2025, 1, 20)));
+        pedro = entityManager.persist(new Player(null, "Pedro López", LocalDate.of(2025, 1, 25)));
+        entityManager.persist(new PlayerStats(juan.getId(), 45, 3L, 2L, 1L));
+        entityManager.persist(new PlayerStats(pedro.getId(), 100, 5L, 5L, 0L));
+        entityManager.flush();
+    }
+
+    @Test
+    void testFindScoreboard_SortedAndIncludesPlayersWithoutGames() {
+        List<ScoreboardDTO> result = playerStatsRepository.findScoreboard();
+
+        assertEquals(3, result.size());
+        assertEquals(pedro.getId(), result.get(0).getIdJugador());
+        assertEquals(juan.getId(), result.get(1).getIdJugador());
+        assertEquals(45, result.get(1).getPuntajeTotal());
+        assertEquals(3L, result.get(1).getPartidasJugadas());
+
+        ScoreboardDTO sinPartidas = result.get(2);
+        assertEquals(maria.getId(), sinPartidas.getIdJugador());
+        assertEquals("María García", sinPartidas.getNombreJugador());
+        assertEquals(0, sinPartidas.getPuntajeTotal());
+        assertEquals(0L, sinPartidas.getPartidasJugadas());
+    }
+
+    @Test
+    void testFindScoreboardByPlayer() {
+        assertEquals(100, playerStatsRepository.findScoreboardByPlayer(pedro.getId()).orElseThrow().getPuntajeTotal());
+        assertEquals(0L, playerStatsRepository.findScoreboardByPlayer(maria.getId()).orElseThrow().getPartidasGanadas());
+        assertTrue(playerStatsRepository.findScoreboardByPlayer(-1L).isEmpty());
+    }
+
+    @Test
+    void testAddGames() {
+        assertEquals(1, playerStatsRepository.addGames(juan.getId(), 25, 2L, 1L, 1L));
+        assertEquals(0, playerStatsRepository.addGames(maria.getId(), 20, 1L, 1L, 0L));
+        entityManager.clear();
+
+        PlayerStats stats = playerStatsRepository.findById(juan.getId()).orElseThrow();
+        assertEquals(70, stats.getPuntajeTotal());
+        assertEquals(5L, stats.getPartidasJugadas());
+        assertEquals(3L, stats.getPartidasGanadas());
+        assertEquals(2L, stats.getPartidasPerdidas());
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.demobase.service;
+
+import com.example.demobase.dto.CacheStatsDTO;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheStatsServiceTest {
+
+    @Test
+    void testGetCacheStats() {
+        // Given
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager("players");
+        cacheManager.setCaffeine(Caffeine.newBuilder().maximumSize(100).recordStats());
+        Cache cache = cacheManager.getCache("players");
+        cache.put(1L, "Juan");
+        cache.get(1L);
+        cache.get(1L);
+        cache.get(2L);
+        CacheStatsService cacheStatsService = new CacheStatsService(cacheManager);
+
+        // When
+        List<CacheStatsDTO> result = cacheStatsService.getCacheStats();
+
+        // Then
+        assertEquals(1, result.size());
+        CacheStatsDTO stats = result.get(0);
+        assertEquals("players", stats.getNombre());
+        assertEquals(1L, stats.getEntradas());
+        assertEquals(2L, stats.getAciertos());
+        assertEquals(1L, stats.getFallos());
+        assertEquals(2.0 / 3, stats.getTasaAciertos(), 1e-9);
+    }
+}
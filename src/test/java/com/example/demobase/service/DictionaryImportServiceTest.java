@@ -0,0 +1,123 @@
+package com.example.demobase.service;
+
+import com.example.demobase.dto.DictionaryImportDTO;
+import com.example.demobase.model.Word;
+import com.example.demobase.repository.WordRepository;
+import com.example.demobase.store.WordCatalog;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+// Lotes de 2 palabras para que cada prueba cruce varios batches; sin carga al iniciar
+@DataJpaTest(properties = {"game.dictionary.batch-size=2", "game.dictionary.path="})
+@ActiveProfiles("test")
+@Import(DictionaryImportService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class DictionaryImportServiceTest {
+
+    @Autowired
+    private DictionaryImportService dictionaryImportService;
+
+    @Autowired
+    private WordRepository wordRepository;
+
+    @MockBean
+    private WordCatalog wordCatalog;
+
+    @AfterEach
+    void tearDown() {
+        wordRepository.deleteAllInBatch();
+    }
+
+    private static InputStream text(String contenido) {
+        return new ByteArrayInputStream(contenido.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private List<String> palabras() {
+        return wordRepository.findAllOrdered().stream().map(Word::getPalabra).toList();
+    }
+
+    @Test
+    void testImportWords_NormalizesAndDedupes() throws IOException {
+        // Given
+        wordRepository.save(new Word(null, "PROGRAMADOR", true));
+        String diccionario = "# comentario\n"
+                + "electrodoméstico\n"
+                + "  Bibliotecario  \n"
+                + "\n"
+                + "programador\n"
+                + "ELECTRODOMÉSTICO\n"
+                + "corto\n"
+                + "con espacios y más\n"
+                + "murciélagos\n";
+
+        // When
+        DictionaryImportDTO result = dictionaryImportService.importWords(text(diccionario), "prueba");
+
+        // Then
+        assertEquals("TERMINADA", result.getEstado());
+        assertEquals(9L, result.getLineasLeidas());
+        assertEquals(3L, result.getPalabrasNuevas());
+        assertEquals(2L, result.getDuplicadas());
+        assertEquals(2L, result.getInvalidas());
+        assertEquals(List.of("PROGRAMADOR", "ELECTRODOMÉSTICO", "BIBLIOTECARIO", "MURCIÉLAGOS"), palabras());
+        assertFalse(wordRepository.findByPalabra("MURCIÉLAGOS").orElseThrow().getUtilizada());
+        verify(wordCatalog, times(1)).invalidate();
+    }
+
+    @Test
+    void testImportWords_Gzip() throws IOException {
+        // Given
+        ByteArrayOutputStream comprimido = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(comprimido)) {
+            gzip.write("ADMINISTRACION\nORGANIZACION\n".getBytes(StandardCharsets.UTF_8));
+        }
+
+        // When
+        DictionaryImportDTO result = dictionaryImportService.importWords(
+                new ByteArrayInputStream(comprimido.toByteArray()), "prueba.txt.gz");
+
+        // Then
+        assertEquals(2L, result.getPalabrasNuevas());
+        assertEquals(List.of("ADMINISTRACION", "ORGANIZACION"), palabras());
+    }
+
+    @Test
+    void testGetProgress_ReportsLastImport() throws IOException {
+        // Given
+        dictionaryImportService.importWords(text("DOCUMENTACION\n"), "ultima");
+
+        // When
+        DictionaryImportDTO progreso = dictionaryImportService.getProgress().orElseThrow();
+
+        // Then
+        assertEquals("ultima", progreso.getOrigen());
+        assertEquals("TERMINADA", progreso.getEstado());
+        assertEquals(1L, progreso.getPalabrasNuevas());
+        assertNotNull(progreso.getFin());
+    }
+
+    @Test
+    void testNormalize() {
+        assertEquals("CONFIGURACIÓN", dictionaryImportService.normalize("configuración"));
+        assertNull(dictionaryImportService.normalize("corta"));
+        assertNull(dictionaryImportService.normalize("palabra-compuesta"));
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.demobase.service;
+
+import com.example.demobase.dto.GameDTO;
+import com.example.demobase.repository.GameRepository;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GameExportServiceTest {
+
+    @Mock
+    private GameRepository gameRepository;
+
+    private GameExportService gameExportService;
+
+    private GameDTO game1;
+    private GameDTO game2;
+
+    @BeforeEach
+    void setUp() {
+        gameExportService = new GameExportService(gameRepository, JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build());
+        game1 = new GameDTO(1L, 1L, "Juan Pérez", "GANADO", 20, LocalDateTime.of(2025, 1, 20, 10, 30), "PROGRAMADOR");
+        game2 = new GameDTO(2L, 2L, "Gómez, \"Mari\"", "PERDIDO", 3, LocalDateTime.of(2025, 1, 21, 8, 0), null);
+    }
+
+    @Test
+    void testExport_Ndjson() throws Exception {
+        // Given
+        when(gameRepository.streamForExport(null, null, null)).thenReturn(Stream.of(game1, game2));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        long filas = gameExportService.export(GameExportService.Format.NDJSON, null, null, null, out);
+
+        // Then
+        assertEquals(2, filas);
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("{\"id\":1,"));
+        assertTrue(lines[0].contains("\"fechaPartida\":\"2025-01-20T10:30:00\""));
+        assertTrue(lines[1].contains("\"palabra\":null"));
+    }
+
+    @Test
+    void testExport_CsvWithFilters() throws Exception {
+        // Given
+        LocalDateTime desde = LocalDateTime.of(2025, 1, 1, 0, 0);
+        LocalDateTime hasta = LocalDateTime.of(2025, 2, 1, 0, 0);
+        when(gameRepository.streamForExport(desde, hasta, 2L)).thenReturn(Stream.of(game1, game2));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        gameExportService.export(GameExportService.Format.CSV, desde, hasta, 2L, out);
+
+        // Then
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals("id,idJugador,nombreJugador,resultado,puntaje,fechaPartida,palabra", lines[0]);
+        assertEquals("1,1,Juan Pérez,GANADO,20,2025-01-20T10:30,PROGRAMADOR", lines[1]);
+        assertEquals("2,2,\"Gómez, \"\"Mari\"\"\",PERDIDO,3,2025-01-21T08:00,", lines[2]);
+    }
+
+    @Test
+    void testFormat_Invalid() {
+        assertEquals(GameExportService.Format.CSV, GameExportService.Format.from("csv"));
+        assertThrows(IllegalArgumentException.class, () -> GameExportService.Format.from("xml"));
+    }
+}
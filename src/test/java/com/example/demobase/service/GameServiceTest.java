@@ -1,19 +1,32 @@
 package com.example.demobase.service;
 
+import com.example.demobase.dto.GameDTO;
+import com.example.demobase.dto.GamePageDTO;
 import com.example.demobase.dto.GameResponseDTO;
+import com.example.demobase.game.Alphabet;
+import com.example.demobase.game.GameEngine;
+import com.example.demobase.game.HangmanGameEngine;
+import com.example.demobase.metrics.GameMetrics;
+import com.example.demobase.model.Game;
 import com.example.demobase.model.GameInProgress;
 import com.example.demobase.model.Player;
 import com.example.demobase.model.Word;
-import com.example.demobase.repository.GameInProgressRepository;
 import com.example.demobase.repository.GameRepository;
-import com.example.demobase.repository.PlayerRepository;
-import com.example.demobase.repository.WordRepository;
+import com.example.demobase.store.ActiveGameStore;
+import com.example.demobase.store.GameCompletion;
+import com.example.demobase.store.GameCompletionQueue;
+import com.example.demobase.store.PlayerCache;
+import com.example.demobase.store.WordPool;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -30,13 +43,22 @@ class GameServiceTest {
     private GameRepository gameRepository;
 
     @Mock
-    private GameInProgressRepository gameInProgressRepository;
+    private ActiveGameStore activeGameStore;
 
     @Mock
-    private PlayerRepository playerRepository;
+    private WordPool wordPool;
 
     @Mock
-    private WordRepository wordRepository;
+    private PlayerCache playerCache;
+
+    @Mock
+    private GameCompletionQueue gameCompletionQueue;
+
+    @Spy
+    private GameEngine gameEngine = new HangmanGameEngine();
+
+    @Mock
+    private GameMetrics gameMetrics;
 
     @InjectMocks
     private GameService gameService;
@@ -53,16 +75,10 @@ class GameServiceTest {
     @Test
     void testStartGame_Success() {
 
-        when(playerRepository.findById(1L)).thenReturn(Optional.of(player));
-        when(gameInProgressRepository.findByJugadorIdOrderByFechaInicioDesc(1L)).thenReturn(
-                Collections.emptyList());
-        when(wordRepository.findRandomWord()).thenReturn(Optional.of(word));
-        when(gameInProgressRepository.save(any(GameInProgress.class))).thenAnswer(invocation -> {
-            GameInProgress savedGame = invocation.getArgument(0);
-            savedGame.setId(1L);
-            return savedGame;
-        });
-        when(wordRepository.save(any(Word.class))).thenAnswer(invocation -> invocation.getArgument(0)); // Mock saving the word
+        when(playerCache.findById(1L)).thenReturn(Optional.of(player));
+        when(activeGameStore.findByPlayer(1L)).thenReturn(Optional.empty());
+        when(wordPool.claim()).thenReturn(Optional.of(word));
+        when(activeGameStore.putIfAbsent(any(GameInProgress.class))).thenReturn(true);
 
         GameResponseDTO result = gameService.startGame(1L);
 
@@ -71,35 +87,35 @@ class GameServiceTest {
         assertEquals(7, result.getIntentosRestantes());
         assertTrue(result.getLetrasIntentadas().isEmpty());
 
-        verify(playerRepository, times(1)).findById(1L);
-        verify(gameInProgressRepository, times(1)).findByJugadorIdOrderByFechaInicioDesc(1L);
-        verify(wordRepository, times(1)).findRandomWord();
-        verify(gameInProgressRepository, times(1)).save(any(GameInProgress.class));
-        verify(wordRepository, times(1)).save(any(Word.class));
-        assertTrue(word.getUtilizada());
+        verify(playerCache, times(1)).findById(1L);
+        verify(activeGameStore, times(1)).findByPlayer(1L);
+        verify(wordPool, times(1)).claim();
+        verify(activeGameStore, times(1)).putIfAbsent(any(GameInProgress.class));
+        verify(gameMetrics, times(1)).recordStart(anyLong(), eq(true));
     }
 
     @Test
     void testStartGame_PlayerNotFound() {
         // Given
-        when(playerRepository.findById(999L)).thenReturn(Optional.empty());
+        when(playerCache.findById(999L)).thenReturn(Optional.empty());
 
         // When & Then
         assertThrows(RuntimeException.class, () -> gameService.startGame(999L));
-        verify(playerRepository, times(1)).findById(999L);
-        verify(wordRepository, never()).findRandomWord();
+        verify(playerCache, times(1)).findById(999L);
+        verify(wordPool, never()).claim();
+        verify(gameMetrics, times(1)).recordStart(anyLong(), eq(false));
     }
 
     @Test
     void testStartGame_NoWordsAvailable() {
         // Given
-        when(playerRepository.findById(1L)).thenReturn(Optional.of(player));
-        when(wordRepository.findRandomWord()).thenReturn(Optional.empty());
+        when(playerCache.findById(1L)).thenReturn(Optional.of(player));
+        when(wordPool.claim()).thenReturn(Optional.empty());
 
         // When & Then
         assertThrows(RuntimeException.class, () -> gameService.startGame(1L));
-        verify(playerRepository, times(1)).findById(1L);
-        verify(wordRepository, times(1)).findRandomWord();
+        verify(playerCache, times(1)).findById(1L);
+        verify(wordPool, times(1)).claim();
     }
 
     @Test
@@ -109,21 +125,17 @@ class GameServiceTest {
         existingGame.setId(1L);
         existingGame.setJugador(player);
         existingGame.setPalabra(word);
-        existingGame.setLetrasIntentadas("P,R");
+        existingGame.setLetrasIntentadasMask(Alphabet.fromLegacy("P,R"));
         existingGame.setIntentosRestantes(5);
         existingGame.setFechaInicio(LocalDateTime.now());
 
-        when(playerRepository.findById(1L)).thenReturn(Optional.of(player));
-        when(wordRepository.findRandomWord()).thenReturn(Optional.of(word));
-        when(gameInProgressRepository.findByJugadorAndPalabra(1L, 1L)).thenReturn(Optional.of(existingGame));
-
-        // When
-        GameResponseDTO result = gameService.startGame(1L);
+        when(playerCache.findById(1L)).thenReturn(Optional.of(player));
+        when(activeGameStore.findByPlayer(1L)).thenReturn(Optional.of(existingGame));
 
-        // Then
-        assertNotNull(result);
-        assertEquals(5, result.getIntentosRestantes());
-        verify(gameInProgressRepository, never()).save(any(GameInProgress.class));
+        // When & Then
+        assertThrows(IllegalStateException.class, () -> gameService.startGame(1L));
+        verify(wordPool, never()).claim();
+        verify(activeGameStore, never()).putIfAbsent(any(GameInProgress.class));
     }
 
     @Test
@@ -133,14 +145,11 @@ class GameServiceTest {
         gameInProgress.setId(1L);
         gameInProgress.setJugador(player);
         gameInProgress.setPalabra(word);
-        gameInProgress.setLetrasIntentadas("");
+        gameInProgress.setLetrasIntentadasMask(0L);
         gameInProgress.setIntentosRestantes(7);
         gameInProgress.setFechaInicio(LocalDateTime.now());
 
-        when(playerRepository.findById(1L)).thenReturn(Optional.of(player));
-        when(gameInProgressRepository.findByJugadorIdOrderByFechaInicioDesc(1L))
-                .thenReturn(Arrays.asList(gameInProgress));
-        when(gameInProgressRepository.save(any(GameInProgress.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(activeGameStore.findByPlayer(1L)).thenReturn(Optional.of(gameInProgress));
 
         // When
         GameResponseDTO result = gameService.makeGuess(1L, 'P');
@@ -149,18 +158,18 @@ class GameServiceTest {
         assertNotNull(result);
         assertTrue(result.getPalabraOculta().contains("P"));
         assertTrue(result.getLetrasIntentadas().contains('P'));
-        verify(gameInProgressRepository, times(1)).save(any(GameInProgress.class));
+        verify(activeGameStore, times(1)).save(gameInProgress);
     }
 
     @Test
     void testMakeGuess_NoGameInProgress() {
         // Given
-        when(playerRepository.findById(1L)).thenReturn(Optional.of(player));
-        when(gameInProgressRepository.findByJugadorIdOrderByFechaInicioDesc(1L)).thenReturn(new ArrayList<>());
+        when(activeGameStore.findByPlayer(1L)).thenReturn(Optional.empty());
 
         // When & Then
         assertThrows(RuntimeException.class, () -> gameService.makeGuess(1L, 'P'));
-        verify(gameInProgressRepository, times(1)).findByJugadorIdOrderByFechaInicioDesc(1L);
+        verify(activeGameStore, times(1)).findByPlayer(1L);
+        verify(gameMetrics, times(1)).recordGuess(anyLong(), eq(false));
     }
 
     @Test
@@ -170,14 +179,11 @@ class GameServiceTest {
         gameInProgress.setId(1L);
         gameInProgress.setJugador(player);
         gameInProgress.setPalabra(word);
-        gameInProgress.setLetrasIntentadas("P");
+        gameInProgress.setLetrasIntentadasMask(Alphabet.fromLegacy("P"));
         gameInProgress.setIntentosRestantes(7);
         gameInProgress.setFechaInicio(LocalDateTime.now());
 
-        when(playerRepository.findById(1L)).thenReturn(Optional.of(player));
-        when(gameInProgressRepository.findByJugadorIdOrderByFechaInicioDesc(1L))
-                .thenReturn(Arrays.asList(gameInProgress));
-        when(gameInProgressRepository.save(any(GameInProgress.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(activeGameStore.findByPlayer(1L)).thenReturn(Optional.of(gameInProgress));
 
         // When
         GameResponseDTO result = gameService.makeGuess(1L, 'R');
@@ -186,7 +192,7 @@ class GameServiceTest {
         assertNotNull(result);
         assertTrue(result.getLetrasIntentadas().contains('R'));
         assertEquals(7, result.getIntentosRestantes()); // No se descuenta porque la letra es correcta
-        verify(gameInProgressRepository, times(1)).save(any(GameInProgress.class));
+        verify(activeGameStore, times(1)).save(gameInProgress);
     }
 
     @Test
@@ -196,14 +202,11 @@ class GameServiceTest {
         gameInProgress.setId(1L);
         gameInProgress.setJugador(player);
         gameInProgress.setPalabra(word);
-        gameInProgress.setLetrasIntentadas("P");
+        gameInProgress.setLetrasIntentadasMask(Alphabet.fromLegacy("P"));
         gameInProgress.setIntentosRestantes(7);
         gameInProgress.setFechaInicio(LocalDateTime.now());
 
-        when(playerRepository.findById(1L)).thenReturn(Optional.of(player));
-        when(gameInProgressRepository.findByJugadorIdOrderByFechaInicioDesc(1L))
-                .thenReturn(Arrays.asList(gameInProgress));
-        when(gameInProgressRepository.save(any(GameInProgress.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(activeGameStore.findByPlayer(1L)).thenReturn(Optional.of(gameInProgress));
 
         // When
         GameResponseDTO result = gameService.makeGuess(1L, 'X');
@@ -212,7 +215,7 @@ class GameServiceTest {
         assertNotNull(result);
         assertTrue(result.getLetrasIntentadas().contains('X'));
         assertEquals(6, result.getIntentosRestantes()); // Se descuenta porque la letra es incorrecta
-        verify(gameInProgressRepository, times(1)).save(any(GameInProgress.class));
+        verify(activeGameStore, times(1)).save(gameInProgress);
     }
 
     @Test
@@ -222,13 +225,11 @@ class GameServiceTest {
         gameInProgress.setId(1L);
         gameInProgress.setJugador(player);
         gameInProgress.setPalabra(word);
-        gameInProgress.setLetrasIntentadas("P");
+        gameInProgress.setLetrasIntentadasMask(Alphabet.fromLegacy("P"));
         gameInProgress.setIntentosRestantes(7);
         gameInProgress.setFechaInicio(LocalDateTime.now());
 
-        when(playerRepository.findById(1L)).thenReturn(Optional.of(player));
-        when(gameInProgressRepository.findByJugadorIdOrderByFechaInicioDesc(1L))
-                .thenReturn(Arrays.asList(gameInProgress));
+        when(activeGameStore.findByPlayer(1L)).thenReturn(Optional.of(gameInProgress));
 
         // When
         GameResponseDTO result = gameService.makeGuess(1L, 'P');
@@ -236,7 +237,223 @@ class GameServiceTest {
         // Then
         assertNotNull(result);
         assertEquals(7, result.getIntentosRestantes()); // No cambia porque la letra ya fue intentada
-        verify(gameInProgressRepository, never()).save(any(GameInProgress.class));
+        verify(activeGameStore, never()).save(any(GameInProgress.class));
     }
-}
 
+    @Test
+    void testMakeGuess_GameWon_RemovesFromStore() {
+        // Given
+        GameInProgress gameInProgress = new GameInProgress();
+        gameInProgress.setId(1L);
+        gameInProgress.setJugador(player);
+        gameInProgress.setPalabra(word);
+        gameInProgress.setLetrasIntentadasMask(Alphabet.fromLegacy("P,R,O,G,A,M"));
+        gameInProgress.setIntentosRestantes(7);
+        gameInProgress.setFechaInicio(LocalDateTime.now());
+
+        when(activeGameStore.findByPlayer(1L)).thenReturn(Optional.of(gameInProgress));
+
+        // When
+        GameResponseDTO result = gameService.makeGuess(1L, 'D');
+
+        // Then
+        assertEquals("PROGRAMADOR", result.getPalabraOculta());
+        assertTrue(result.getPalabraCompleta());
+        assertEquals(20, result.getPuntajeAcumulado());
+        ArgumentCaptor<GameCompletion> completion = ArgumentCaptor.forClass(GameCompletion.class);
+        InOrder orden = inOrder(gameCompletionQueue, activeGameStore);
+        // Queda guardada antes de salir de memoria
+        orden.verify(gameCompletionQueue, times(1)).submit(completion.capture());
+        orden.verify(activeGameStore, times(1)).remove(gameInProgress);
+        assertEquals(1L, completion.getValue().idPartida());
+        assertEquals(1L, completion.getValue().idJugador());
+        assertEquals("Juan Pérez", completion.getValue().nombreJugador());
+        assertEquals(1L, completion.getValue().idPalabra());
+        assertTrue(completion.getValue().ganado());
+        assertEquals(20, completion.getValue().puntaje());
+        assertNotNull(completion.getValue().evento());
+        assertTrue(gameInProgress.isTerminada());
+        verify(gameRepository, never()).save(any(Game.class));
+        verify(activeGameStore, never()).save(any(GameInProgress.class));
+        verify(gameMetrics, times(1)).gameFinished(true);
+        verify(gameMetrics, times(1)).recordGuess(anyLong(), eq(true));
+    }
+
+    @Test
+    void testMakeGuess_GameLost_SubmitsCompletion() {
+        // Given
+        GameInProgress gameInProgress = new GameInProgress();
+        gameInProgress.setId(1L);
+        gameInProgress.setJugador(player);
+        gameInProgress.setPalabra(word);
+        gameInProgress.setLetrasIntentadasMask(Alphabet.fromLegacy("P,R"));
+        gameInProgress.setIntentosRestantes(1);
+        gameInProgress.setFechaInicio(LocalDateTime.now());
+
+        when(activeGameStore.findByPlayer(1L)).thenReturn(Optional.of(gameInProgress));
+
+        // When
+        GameResponseDTO result = gameService.makeGuess(1L, 'X');
+
+        // Then
+        assertFalse(result.getPalabraCompleta());
+        assertEquals(2, result.getPuntajeAcumulado()); // P y R
+        ArgumentCaptor<GameCompletion> completion = ArgumentCaptor.forClass(GameCompletion.class);
+        verify(gameCompletionQueue, times(1)).submit(completion.capture());
+        assertFalse(completion.getValue().ganado());
+        assertEquals("PERDIDO", completion.getValue().resultado());
+        assertEquals(2, completion.getValue().puntaje());
+        verify(activeGameStore, times(1)).remove(gameInProgress);
+        verify(gameMetrics, times(1)).gameFinished(false);
+    }
+
+    @Test
+    void testMakeGuess_SubmitFailureKeepsGameUnchanged() {
+        // Given
+        GameInProgress gameInProgress = new GameInProgress();
+        gameInProgress.setId(1L);
+        gameInProgress.setJugador(player);
+        gameInProgress.setPalabra(word);
+        gameInProgress.setLetrasIntentadasMask(Alphabet.fromLegacy("P,R"));
+        gameInProgress.setIntentosRestantes(1);
+        gameInProgress.setFechaInicio(LocalDateTime.now());
+
+        when(activeGameStore.findByPlayer(1L)).thenReturn(Optional.of(gameInProgress));
+        doThrow(new RuntimeException("DB caída")).when(gameCompletionQueue).submit(any(GameCompletion.class));
+
+        // When & Then: el mismo intento se puede repetir
+        assertThrows(RuntimeException.class, () -> gameService.makeGuess(1L, 'X'));
+        assertEquals(1, gameInProgress.getIntentosRestantes());
+        assertEquals(Alphabet.fromLegacy("P,R"), gameInProgress.getLetrasIntentadasMask());
+        assertFalse(gameInProgress.isTerminada());
+        verify(activeGameStore, never()).remove(any(GameInProgress.class));
+        verify(gameMetrics, never()).gameFinished(anyBoolean());
+        verify(gameMetrics, times(1)).recordGuess(anyLong(), eq(false));
+    }
+
+    @Test
+    void testMakeGuess_InvalidLetter() {
+        // Given
+        GameInProgress gameInProgress = new GameInProgress();
+        gameInProgress.setId(1L);
+        gameInProgress.setJugador(player);
+        gameInProgress.setPalabra(word);
+        gameInProgress.setIntentosRestantes(7);
+        gameInProgress.setFechaInicio(LocalDateTime.now());
+
+        when(activeGameStore.findByPlayer(1L)).thenReturn(Optional.of(gameInProgress));
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> gameService.makeGuess(1L, '3'));
+        assertEquals(7, gameInProgress.getIntentosRestantes());
+        verify(activeGameStore, never()).save(any(GameInProgress.class));
+    }
+
+    @Test
+    void testMakeGuesses_StopsWhenGameEnds() {
+        // Given
+        GameInProgress gameInProgress = new GameInProgress();
+        gameInProgress.setId(1L);
+        gameInProgress.setJugador(player);
+        gameInProgress.setPalabra(word);
+        gameInProgress.setLetrasIntentadasMask(0L);
+        gameInProgress.setIntentosRestantes(7);
+        gameInProgress.setFechaInicio(LocalDateTime.now());
+
+        when(activeGameStore.findByPlayer(1L)).thenReturn(Optional.of(gameInProgress));
+
+        // When
+        List<GameResponseDTO> result = gameService.makeGuesses(1L,
+                Arrays.asList('p', 'R', 'O', 'G', 'A', 'M', 'D', 'X'), false);
+
+        // Then
+        assertEquals(7, result.size()); // La X llega después de completar la palabra y no se aplica
+        assertEquals("P__________", result.get(0).getPalabraOculta());
+        assertEquals("PROGRAMADOR", result.get(6).getPalabraOculta());
+        assertTrue(result.get(6).getPalabraCompleta());
+        assertEquals(7, result.get(6).getIntentosRestantes());
+        assertFalse(result.get(6).getLetrasIntentadas().contains('X'));
+        verify(gameCompletionQueue, times(1)).submit(any(GameCompletion.class));
+        verify(activeGameStore, times(1)).remove(gameInProgress);
+    }
+
+    @Test
+    void testMakeGuesses_SoloFinal() {
+        // Given
+        GameInProgress gameInProgress = new GameInProgress();
+        gameInProgress.setId(1L);
+        gameInProgress.setJugador(player);
+        gameInProgress.setPalabra(word);
+        gameInProgress.setLetrasIntentadasMask(0L);
+        gameInProgress.setIntentosRestantes(7);
+        gameInProgress.setFechaInicio(LocalDateTime.now());
+
+        when(activeGameStore.findByPlayer(1L)).thenReturn(Optional.of(gameInProgress));
+
+        // When
+        List<GameResponseDTO> result = gameService.makeGuesses(1L, Arrays.asList('P', 'X', 'R'), true);
+
+        // Then
+        assertEquals(1, result.size());
+        assertEquals(Arrays.asList('P', 'R', 'X'), result.get(0).getLetrasIntentadas());
+        assertEquals(6, result.get(0).getIntentosRestantes());
+        verify(activeGameStore, times(3)).save(gameInProgress);
+    }
+
+    @Test
+    void testMakeGuesses_InvalidLetterAppliesNothing() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class,
+                () -> gameService.makeGuesses(1L, Arrays.asList('P', '3'), false));
+        assertThrows(IllegalArgumentException.class,
+                () -> gameService.makeGuesses(1L, List.of(), false));
+        verify(activeGameStore, never()).findByPlayer(anyLong());
+    }
+
+    private GameDTO finishedGame(long id, LocalDateTime fecha) {
+        return new GameDTO(id, 1L, "Juan Pérez", "GANADO", 20, fecha, "PROGRAMADOR");
+    }
+
+    @Test
+    void testGetAllGames_FirstPageReturnsNextCursor() {
+        // Given
+        LocalDateTime fecha = LocalDateTime.of(2025, 1, 20, 10, 0);
+        List<GameDTO> rows = Arrays.asList(finishedGame(3L, fecha), finishedGame(2L, fecha), finishedGame(1L, fecha.minusDays(1)));
+        when(gameRepository.findFirstPage(PageRequest.of(0, 3))).thenReturn(rows);
+
+        // When
+        GamePageDTO page = gameService.getAllGames(null, 2);
+
+        // Then
+        assertEquals(2, page.getPartidas().size());
+        assertEquals(3L, page.getPartidas().get(0).getId());
+        assertEquals(2L, page.getPartidas().get(1).getId());
+        assertNotNull(page.getSiguienteCursor());
+
+        // La página siguiente continúa después de la última fila entregada
+        when(gameRepository.findPageAfter(fecha, 2L, PageRequest.of(0, 3))).thenReturn(List.of(rows.get(2)));
+        GamePageDTO next = gameService.getAllGames(page.getSiguienteCursor(), 2);
+        assertEquals(1, next.getPartidas().size());
+        assertNull(next.getSiguienteCursor());
+    }
+
+    @Test
+    void testGetGamesByPlayer_PageSizeIsCapped() {
+        // Given
+        when(gameRepository.findFirstPageByJugadorId(1L, PageRequest.of(0, 501))).thenReturn(List.of());
+
+        // When
+        GamePageDTO page = gameService.getGamesByPlayer(1L, null, 100_000);
+
+        // Then
+        assertTrue(page.getPartidas().isEmpty());
+        assertNull(page.getSiguienteCursor());
+        verify(gameRepository, times(1)).findFirstPageByJugadorId(1L, PageRequest.of(0, 501));
+    }
+
+    @Test
+    void testGetGamesByPlayer_InvalidCursor() {
+        assertThrows(IllegalArgumentException.class, () -> gameService.getGamesByPlayer(1L, "no-es-un-cursor", null));
+        verifyNoInteractions(gameRepository);
+    }
+}
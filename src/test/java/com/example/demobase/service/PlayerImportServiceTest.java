@@ -0,0 +1,150 @@
+package com.example.demobase.service;
+
+import com.example.demobase.dto.ImportResultDTO;
+import com.example.demobase.model.Player;
+import com.example.demobase.repository.PlayerRepository;
+import com.example.demobase.store.DataVersion;
+import com.example.demobase.store.Leaderboard;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+// Lotes de 2 filas para que cada prueba cruce varios batches
+@DataJpaTest(properties = "game.players.import.chunk-size=2")
+@ActiveProfiles("test")
+@Import({PlayerImportService.class, DataVersion.class, PlayerImportServiceTest.Config.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PlayerImportServiceTest {
+
+    @TestConfiguration
+    static class Config {
+
+        @Bean
+        ObjectMapper objectMapper() {
+            return new ObjectMapper();
+        }
+    }
+
+    @Autowired
+    private PlayerImportService playerImportService;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @MockBean
+    private Leaderboard leaderboard;
+
+    @AfterEach
+    void tearDown() {
+        playerRepository.deleteAllInBatch();
+    }
+
+    private static InputStream body(String contenido) {
+        return new ByteArrayInputStream(contenido.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private List<Player> playersById() {
+        List<Player> players = playerRepository.findAll();
+        players.sort(Comparator.comparing(Player::getId));
+        return players;
+    }
+
+    @Test
+    void testImportCsv_ReportsRowErrors() throws IOException {
+        // Given
+        String csv = "nombre,fecha\n"
+                + "Ana Díaz,2025-01-10\n"
+                + ",2025-01-11\n"
+                + "\"López, Luis\",2025-01-12\n"
+                + "Marta,12/01/2025\n"
+                + "\n"
+                + "Pablo,\n";
+
+        // When
+        ImportResultDTO result = playerImportService.importPlayers(PlayerImportService.Format.CSV, body(csv));
+
+        // Then
+        assertEquals(5L, result.getRecibidos());
+        assertEquals(3L, result.getImportados());
+        assertEquals(2L, result.getRechazados());
+        assertEquals(2L, result.getErrores().get(0).getFila());
+        assertEquals(4L, result.getErrores().get(1).getFila());
+
+        List<Player> players = playersById();
+        assertEquals(List.of("Ana Díaz", "López, Luis", "Pablo"), players.stream().map(Player::getNombre).toList());
+        assertEquals(LocalDate.of(2025, 1, 12), players.get(1).getFecha());
+        assertEquals(LocalDate.now(), players.get(2).getFecha());
+        verify(leaderboard, times(1)).invalidate();
+    }
+
+    @Test
+    void testImportJson_SkipsInvalidElements() throws IOException {
+        // Given
+        String json = "[{\"nombre\": \"Ana\", \"fecha\": \"2025-01-10\"}, 42, {\"fecha\": \"2025-01-11\"},"
+                + " {\"nombre\": \"Luis\"}, {\"nombre\": \"Marta\", \"fecha\": \"2025-02-01\"}]";
+
+        // When
+        ImportResultDTO result = playerImportService.importPlayers(PlayerImportService.Format.JSON, body(json));
+
+        // Then
+        assertEquals(5L, result.getRecibidos());
+        assertEquals(3L, result.getImportados());
+        assertEquals(List.of(2L, 3L), result.getErrores().stream().map(e -> e.getFila()).toList());
+        assertEquals(3, playerRepository.count());
+    }
+
+    @Test
+    void testImportJson_TruncatedKeepsPreviousRows() throws IOException {
+        // Given
+        String json = "[{\"nombre\": \"Ana\"}, {\"nombre\": \"Luis\"}, {\"nombre\": \"Mar";
+
+        // When
+        ImportResultDTO result = playerImportService.importPlayers(PlayerImportService.Format.JSON, body(json));
+
+        // Then
+        assertEquals(2L, result.getImportados());
+        assertEquals(1L, result.getRechazados());
+        assertEquals(3L, result.getErrores().get(0).getFila());
+        assertEquals(2, playerRepository.count());
+    }
+
+    @Test
+    void testImportJson_NotAnArray() {
+        assertThrows(IllegalArgumentException.class,
+                () -> playerImportService.importPlayers(PlayerImportService.Format.JSON, body("{\"nombre\": \"Ana\"}")));
+        verify(leaderboard, never()).invalidate();
+    }
+
+    @Test
+    void testParseCsvLine() {
+        assertEquals(List.of("a", "b, c", "d \"e\"", ""), PlayerImportService.parseCsvLine("a,\"b, c\",\"d \"\"e\"\"\","));
+        assertNull(PlayerImportService.parseCsvLine("a,\"b"));
+    }
+
+    @Test
+    void testFormatFromContentType() {
+        assertEquals(PlayerImportService.Format.CSV, PlayerImportService.Format.fromContentType("text/csv; charset=UTF-8"));
+        assertEquals(PlayerImportService.Format.JSON, PlayerImportService.Format.fromContentType("application/json"));
+        assertThrows(IllegalArgumentException.class, () -> PlayerImportService.Format.fromContentType("text/plain"));
+    }
+}
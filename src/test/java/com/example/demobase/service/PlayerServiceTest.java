@@ -3,6 +3,9 @@ package com.example.demobase.service;
 import com.example.demobase.dto.PlayerDTO;
 import com.example.demobase.model.Player;
 import com.example.demobase.repository.PlayerRepository;
+import com.example.demobase.store.DataVersion;
+import com.example.demobase.store.Leaderboard;
+import com.example.demobase.store.PlayerCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -25,6 +28,15 @@ class PlayerServiceTest {
     @Mock
     private PlayerRepository playerRepository;
 
+    @Mock
+    private PlayerCache playerCache;
+
+    @Mock
+    private Leaderboard leaderboard;
+
+    @Mock
+    private DataVersion dataVersion;
+
     @InjectMocks
     private PlayerService playerService;
 
@@ -58,7 +70,7 @@ class PlayerServiceTest {
     @Test
     void testGetPlayerById_Success() {
         // Given
-        when(playerRepository.findById(1L)).thenReturn(Optional.of(player));
+        when(playerCache.findById(1L)).thenReturn(Optional.of(player));
 
         // When
         PlayerDTO result = playerService.getPlayerById(1L);
@@ -67,17 +79,17 @@ class PlayerServiceTest {
         assertNotNull(result);
         assertEquals(1L, result.getId());
         assertEquals("Juan Pérez", result.getNombre());
-        verify(playerRepository, times(1)).findById(1L);
+        verify(playerCache, times(1)).findById(1L);
     }
 
     @Test
     void testGetPlayerById_NotFound() {
         // Given
-        when(playerRepository.findById(999L)).thenReturn(Optional.empty());
+        when(playerCache.findById(999L)).thenReturn(Optional.empty());
 
         // When & Then
         assertThrows(RuntimeException.class, () -> playerService.getPlayerById(999L));
-        verify(playerRepository, times(1)).findById(999L);
+        verify(playerCache, times(1)).findById(999L);
     }
 
     @Test
@@ -130,6 +142,9 @@ class PlayerServiceTest {
         assertEquals(LocalDate.of(2025, 1, 20), result.getFecha());
         verify(playerRepository, times(1)).findById(1L);
         verify(playerRepository, times(1)).save(any(Player.class));
+        verify(playerCache, times(1)).evict(1L);
+        verify(leaderboard, times(1)).playerSaved(1L, "Juan Pérez Actualizado");
+        verify(dataVersion, times(1)).playersChanged();
     }
 
     @Test
@@ -155,6 +170,9 @@ class PlayerServiceTest {
         // Then
         verify(playerRepository, times(1)).existsById(1L);
         verify(playerRepository, times(1)).deleteById(1L);
+        verify(playerCache, times(1)).evict(1L);
+        verify(leaderboard, times(1)).playerRemoved(1L);
+        verify(dataVersion, times(1)).playersChanged();
     }
 
     @Test
@@ -1,20 +1,16 @@
 package com.example.demobase.service;
 
+import com.example.demobase.dto.RankDTO;
 import com.example.demobase.dto.ScoreboardDTO;
-import com.example.demobase.model.Game;
-import com.example.demobase.model.Player;
-import com.example.demobase.model.Word;
-import com.example.demobase.repository.GameRepository;
-import com.example.demobase.repository.PlayerRepository;
-import org.junit.jupiter.api.BeforeEach;
+import com.example.demobase.repository.PlayerStatsRepository;
+import com.example.demobase.store.DataVersion;
+import com.example.demobase.store.Leaderboard;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -26,139 +22,102 @@ import static org.mockito.Mockito.*;
 class ScoreboardServiceTest {
 
     @Mock
-    private PlayerRepository playerRepository;
+    private PlayerStatsRepository playerStatsRepository;
 
     @Mock
-    private GameRepository gameRepository;
+    private Leaderboard leaderboard;
+
+    @Mock
+    private DataVersion dataVersion;
 
     @InjectMocks
     private ScoreboardService scoreboardService;
 
-    private Player player1;
-    private Player player2;
-    private Word word;
-    private Game game1;
-    private Game game2;
-    private Game game3;
-
-    @BeforeEach
-    void setUp() {
-        player1 = new Player(1L, "Juan Pérez", LocalDate.of(2025, 1, 15));
-        player2 = new Player(2L, "María García", LocalDate.of(2025, 1, 20));
-        word = new Word(1L, "PROGRAMADOR", true);
-
-        game1 = new Game();
-        game1.setId(1L);
-        game1.setJugador(player1);
-        game1.setPalabra(word);
-        game1.setResultado("GANADO");
-        game1.setPuntaje(20);
-        game1.setFechaPartida(LocalDateTime.now());
-
-        game2 = new Game();
-        game2.setId(2L);
-        game2.setJugador(player1);
-        game2.setPalabra(word);
-        game2.setResultado("GANADO");
-        game2.setPuntaje(20);
-        game2.setFechaPartida(LocalDateTime.now());
-
-        game3 = new Game();
-        game3.setId(3L);
-        game3.setJugador(player1);
-        game3.setPalabra(word);
-        game3.setResultado("PERDIDO");
-        game3.setPuntaje(5);
-        game3.setFechaPartida(LocalDateTime.now());
-    }
-
     @Test
     void testGetScoreboard() {
         // Given
-        List<Player> players = Arrays.asList(player1, player2);
-        List<Game> player1Games = Arrays.asList(game1, game2, game3);
-        List<Game> player2Games = Arrays.asList();
-
-        when(playerRepository.findAll()).thenReturn(players);
-        when(gameRepository.findByJugador(player1)).thenReturn(player1Games);
-        when(gameRepository.findByJugador(player2)).thenReturn(player2Games);
+        List<ScoreboardDTO> rows = Arrays.asList(
+                new ScoreboardDTO(1L, "Juan Pérez", 45, 3L, 2L, 1L),
+                new ScoreboardDTO(2L, "María García", 0, 0L, 0L, 0L));
+        when(playerStatsRepository.findScoreboard()).thenReturn(rows);
 
         // When
         List<ScoreboardDTO> result = scoreboardService.getScoreboard();
 
         // Then
-        assertNotNull(result);
-        assertEquals(2, result.size());
-        
-        ScoreboardDTO player1Stats = result.get(0);
-        assertEquals(1L, player1Stats.getIdJugador());
-        assertEquals("Juan Pérez", player1Stats.getNombreJugador());
-        assertEquals(45, player1Stats.getPuntajeTotal()); // 20 + 20 + 5
-        assertEquals(3L, player1Stats.getPartidasJugadas());
-        assertEquals(2L, player1Stats.getPartidasGanadas());
-        assertEquals(1L, player1Stats.getPartidasPerdidas());
-
-        ScoreboardDTO player2Stats = result.get(1);
-        assertEquals(2L, player2Stats.getIdJugador());
-        assertEquals(0, player2Stats.getPuntajeTotal());
-        assertEquals(0L, player2Stats.getPartidasJugadas());
-
-        verify(playerRepository, times(1)).findAll();
-        verify(gameRepository, times(1)).findByJugador(player1);
-        verify(gameRepository, times(1)).findByJugador(player2);
+        assertEquals(rows, result);
+        verify(playerStatsRepository, times(1)).findScoreboard();
+        verifyNoMoreInteractions(playerStatsRepository);
     }
 
     @Test
     void testGetScoreboardByPlayer_Success() {
-        when(playerRepository.findById(1L)).thenReturn(Optional.of(player1));
-        when(gameRepository.findByJugador(player1)).thenReturn(Arrays.asList(game1, game2, game3));
+        ScoreboardDTO row = new ScoreboardDTO(1L, "Juan Pérez", 45, 3L, 2L, 1L);
+        when(playerStatsRepository.findScoreboardByPlayer(1L)).thenReturn(Optional.of(row));
 
         ScoreboardDTO result = scoreboardService.getScoreboardByPlayer(1L);
 
         assertNotNull(result);
-        assertEquals(player1.getId(), result.getIdJugador());
-        assertEquals(player1.getNombre(), result.getNombreJugador());
-        assertEquals(45, result.getPuntajeTotal()); // 20 + 20 + 5
+        assertEquals(1L, result.getIdJugador());
+        assertEquals(45, result.getPuntajeTotal());
         assertEquals(3L, result.getPartidasJugadas());
-        assertEquals(2L, result.getPartidasGanadas());
-        assertEquals(1L, result.getPartidasPerdidas());
-
-        verify(playerRepository, times(1)).findById(1L);
-        verify(gameRepository, times(1)).findByJugador(player1);
+        verify(playerStatsRepository, times(1)).findScoreboardByPlayer(1L);
     }
 
     @Test
     void testGetScoreboardByPlayer_NotFound() {
         // Given
-        when(playerRepository.findById(999L)).thenReturn(java.util.Optional.empty());
+        when(playerStatsRepository.findScoreboardByPlayer(999L)).thenReturn(Optional.empty());
 
         // When & Then
         assertThrows(RuntimeException.class, () -> scoreboardService.getScoreboardByPlayer(999L));
-        verify(playerRepository, times(1)).findById(999L);
-        verify(gameRepository, never()).findByJugador(any(Player.class));
+        verify(playerStatsRepository, times(1)).findScoreboardByPlayer(999L);
     }
 
     @Test
-    void testGetScoreboard_OrderedByScore() {
+    void testGetTop_LimitsK() {
         // Given
-        Player highScorePlayer = new Player(3L, "Alto Puntaje", LocalDate.now());
-        Game highScoreGame = new Game();
-        highScoreGame.setJugador(highScorePlayer);
-        highScoreGame.setPuntaje(100);
+        List<ScoreboardDTO> rows = List.of(new ScoreboardDTO(1L, "Juan Pérez", 45, 3L, 2L, 1L));
+        when(leaderboard.top(anyInt())).thenReturn(rows);
+
+        // When
+        scoreboardService.getTop(10);
+        scoreboardService.getTop(0);
+        List<ScoreboardDTO> result = scoreboardService.getTop(1_000_000);
 
-        List<Player> players = Arrays.asList(player1, highScorePlayer);
-        when(playerRepository.findAll()).thenReturn(players);
-        when(gameRepository.findByJugador(player1)).thenReturn(Arrays.asList(game1));
-        when(gameRepository.findByJugador(highScorePlayer)).thenReturn(Arrays.asList(highScoreGame));
+        // Then
+        assertEquals(rows, result);
+        verify(leaderboard).top(10);
+        verify(leaderboard).top(1);
+        verify(leaderboard).top(1000);
+        verifyNoInteractions(playerStatsRepository);
+    }
+
+    @Test
+    void testGetRankByPlayer() {
+        // Given
+        when(leaderboard.rankOf(1L)).thenReturn(Optional.of(new RankDTO(1L, "Juan Pérez", 45, 2, 5)));
+        when(leaderboard.rankOf(999L)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertEquals(2, scoreboardService.getRankByPlayer(1L).getPosicion());
+        assertThrows(RuntimeException.class, () -> scoreboardService.getRankByPlayer(999L));
+        verifyNoInteractions(playerStatsRepository);
+    }
+
+    @Test
+    void testRebuildPlayerStats() {
+        // Given
+        when(playerStatsRepository.rebuildFromGames()).thenReturn(2);
 
         // When
-        List<ScoreboardDTO> result = scoreboardService.getScoreboard();
+        int result = scoreboardService.rebuildPlayerStats();
 
         // Then
-        assertNotNull(result);
-        assertEquals(2, result.size());
-        // El jugador con mayor puntaje debe estar primero
-        assertTrue(result.get(0).getPuntajeTotal() >= result.get(1).getPuntajeTotal());
+        assertEquals(2, result);
+        verify(playerStatsRepository, times(1)).deleteAllInBatch();
+        verify(playerStatsRepository, times(1)).rebuildFromGames();
+        verify(leaderboard, times(1)).invalidate();
+        verify(dataVersion, times(1)).scoresChanged();
     }
 }
-
@@ -0,0 +1,257 @@
+package com.example.demobase.sql;
+
+import com.example.demobase.controller.PlayerController;
+import com.example.demobase.model.Game;
+import com.example.demobase.model.Player;
+import com.example.demobase.model.PlayerStats;
+import com.example.demobase.model.Word;
+import com.example.demobase.repository.GameRepository;
+import com.example.demobase.repository.PlayerRepository;
+import com.example.demobase.repository.PlayerStatsRepository;
+import com.example.demobase.repository.WordRepository;
+import com.example.demobase.service.DictionaryImportService;
+import com.example.demobase.service.GameService;
+import com.example.demobase.store.Leaderboard;
+import com.example.demobase.store.WordCatalog;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Presupuesto de sentencias SQL por endpoint: cada pedido tiene que ejecutar exactamente las
+// sentencias de la tabla. Si un cambio agrega consultas (un N+1, una relación lazy) la prueba
+// falla con la lista de sentencias; si las reduce, hay que bajar el presupuesto.
+//
+// Se mide con la caché de jugadores vacía para el jugador pedido, la grilla de puntajes ya
+// cargada y el bloque de palabras ya reservado, que es el estado normal de una instancia en uso.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:sql-budget",
+        "game.dictionary.path=",
+        "game.store.flush-interval-ms=3600000",
+        "game.words.flush-interval-ms=3600000",
+        "game.leaderboard.reload-interval-ms=3600000"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(SqlStatementCounter.class)
+class SqlBudgetTest {
+
+    private static final int PALABRAS = 200;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SqlStatementCounter sqlCounter;
+
+    @Autowired
+    @Qualifier("requestMappingHandlerMapping")
+    private RequestMappingHandlerMapping handlerMapping;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private PlayerStatsRepository playerStatsRepository;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private WordRepository wordRepository;
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private DictionaryImportService dictionaryImportService;
+
+    @Autowired
+    private Leaderboard leaderboard;
+
+    @Autowired
+    private WordCatalog wordCatalog;
+
+    private Datos datos;
+
+    // jugador: con historial y estadísticas; conPartida: con una partida en curso; nuevo: sin nada
+    private record Datos(Long jugador, Long conPartida, Long nuevo) {
+    }
+
+    private interface Pedido {
+        RequestBuilder build(Datos datos);
+    }
+
+    private record Presupuesto(String endpoint, int sentencias, Pedido pedido) {
+
+        @Override
+        public String toString() {
+            return endpoint + " = " + sentencias;
+        }
+    }
+
+    static Stream<Presupuesto> presupuestos() {
+        return Stream.of(
+                // Jugadores
+                new Presupuesto("GET /api/players", 1, d -> get("/api/players")),
+                new Presupuesto("GET /api/players/{id}", 1, d -> get("/api/players/{id}", d.jugador())),
+                new Presupuesto("POST /api/players", 1, d -> post("/api/players")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nombre\":\"Jugador nuevo\"}")),
+                // Un batch JDBC por lote de game.players.import.chunk-size filas
+                new Presupuesto("POST /api/players/import", 1, d -> post("/api/players/import")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"nombre\":\"Importado 1\",\"fecha\":\"2025-01-15\"},{\"nombre\":\"Importado 2\"}]")),
+                // SELECT y UPDATE del jugador
+                new Presupuesto("PUT /api/players/{id}", 2, d -> put("/api/players/{id}", d.jugador())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nombre\":\"Nombre cambiado\"}")),
+                // existsById, findById y DELETE
+                new Presupuesto("DELETE /api/players/{id}", 3, d -> delete("/api/players/{id}", d.nuevo())),
+
+                // Partidas: jugador, partida en curso en la base (primera consulta del jugador) e INSERT de la
+                // partida, que el índice único por jugador protege entre instancias. La palabra sale del bloque reservado
+                new Presupuesto("POST /api/games/start/{playerId}", 3, d -> post("/api/games/start/{playerId}", d.nuevo())),
+                // Los intentos se resuelven en memoria; el historial lo escribe otro hilo
+                new Presupuesto("POST /api/games/guess", 0, d -> post("/api/games/guess")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"idJugador\":" + d.conPartida() + ",\"letra\":\"E\"}")),
+                new Presupuesto("POST /api/games/guess/batch", 0, d -> post("/api/games/guess/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"idJugador\":" + d.conPartida() + ",\"letras\":[\"E\",\"S\",\"T\"]}")),
+                // Jugador y palabra en la misma consulta, sin importar el tamaño de la página
+                new Presupuesto("GET /api/games", 1, d -> get("/api/games").param("size", "100")),
+                new Presupuesto("GET /api/games/player/{playerId}", 1, d -> get("/api/games/player/{playerId}", d.jugador())),
+                new Presupuesto("GET /api/games/export", 1, d -> get("/api/games/export").param("format", "csv")),
+
+                // Grilla de puntajes
+                new Presupuesto("GET /api/scoreboard", 1, d -> get("/api/scoreboard")),
+                new Presupuesto("GET /api/scoreboard/player/{playerId}", 1, d -> get("/api/scoreboard/player/{playerId}", d.jugador())),
+                new Presupuesto("GET /api/scoreboard/top", 0, d -> get("/api/scoreboard/top").param("k", "5")),
+                new Presupuesto("GET /api/scoreboard/player/{playerId}/rank", 0, d -> get("/api/scoreboard/player/{playerId}/rank", d.jugador())),
+                // DELETE de todas las filas e INSERT ... SELECT desde el historial
+                new Presupuesto("POST /api/scoreboard/rebuild", 2, d -> post("/api/scoreboard/rebuild")),
+
+                // Palabras: el catálogo se arma con una consulta cuando cambió alguna palabra
+                new Presupuesto("GET /api/words", 1, d -> get("/api/words")),
+
+                // Administración
+                new Presupuesto("GET /api/admin/caches", 0, d -> get("/api/admin/caches")),
+                // Palabras conocidas y un batch JDBC con las nuevas
+                new Presupuesto("POST /api/admin/dictionary", 2, d -> post("/api/admin/dictionary")
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .content("DICCIONARIO" + letters(d.nuevo()) + "\nPRESUPUESTO" + letters(d.nuevo()) + "\n")),
+                new Presupuesto("GET /api/admin/dictionary/progress", 0, d -> get("/api/admin/dictionary/progress"))
+        );
+    }
+
+    // Sufijo de letras distinto para cada id: las palabras del diccionario no se repiten
+    private static String letters(long numero) {
+        StringBuilder letras = new StringBuilder();
+        do {
+            letras.append((char) ('A' + numero % 26));
+            numero /= 26;
+        } while (numero > 0);
+        return letras.toString();
+    }
+
+    @BeforeEach
+    void setUp() throws Exception {
+        if (wordRepository.count() < PALABRAS) {
+            List<Word> palabras = new ArrayList<>();
+            for (int i = 0; i < PALABRAS; i++) {
+                palabras.add(new Word(null, "PALABRAPRUEBA" + letters(i), false));
+            }
+            wordRepository.saveAll(palabras);
+        }
+
+        Player jugador = playerRepository.save(new Player(null, "Jugador con historial", LocalDate.of(2025, 1, 15)));
+        Player conPartida = playerRepository.save(new Player(null, "Jugador con partida", LocalDate.of(2025, 1, 15)));
+        Player nuevo = playerRepository.save(new Player(null, "Jugador nuevo", LocalDate.of(2025, 1, 15)));
+        Word palabra = wordRepository.findAllOrdered().get(0);
+        for (int i = 0; i < 3; i++) {
+            Game game = new Game();
+            game.setJugador(jugador);
+            game.setPalabra(palabra);
+            game.setResultado(i == 0 ? "PERDIDO" : "GANADO");
+            game.setPuntaje(i == 0 ? 4 : 20);
+            game.setFechaPartida(LocalDateTime.now().minusMinutes(i));
+            gameRepository.save(game);
+        }
+        playerStatsRepository.save(new PlayerStats(jugador.getId(), 44, 3L, 2L, 1L));
+        // También reserva el bloque de palabras de esta instancia
+        gameService.startGame(conPartida.getId());
+        dictionaryImportService.importWords(new ByteArrayInputStream(
+                ("PREPARACION" + letters(nuevo.getId())).getBytes(StandardCharsets.UTF_8)), "presupuesto");
+        leaderboard.reload();
+        wordCatalog.invalidate();
+
+        datos = new Datos(jugador.getId(), conPartida.getId(), nuevo.getId());
+    }
+
+    @AfterEach
+    void tearDown() {
+        sqlCounter.stop();
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("presupuestos")
+    void testEndpointStaysWithinBudget(Presupuesto presupuesto) throws Exception {
+        sqlCounter.start();
+
+        MvcResult result = mockMvc.perform(presupuesto.pedido().build(datos)).andReturn();
+        // La exportación escribe la respuesta en otro hilo; sus consultas también se cuentan
+        if (result.getRequest().isAsyncStarted()) {
+            result = mockMvc.perform(asyncDispatch(result)).andReturn();
+        }
+
+        int estado = result.getResponse().getStatus();
+        assertTrue(estado >= 200 && estado < 300, presupuesto.endpoint() + " respondió " + estado);
+        sqlCounter.assertStatements(presupuesto.sentencias(), presupuesto.endpoint());
+    }
+
+    // Un endpoint nuevo tiene que entrar en la tabla
+    @Test
+    void testBudgetCoversEveryEndpoint() {
+        Set<String> endpoints = handlerMapping.getHandlerMethods().entrySet().stream()
+                .filter(entry -> entry.getValue().getBeanType().getPackageName()
+                        .equals(PlayerController.class.getPackageName()))
+                .flatMap(entry -> entry.getKey().getMethodsCondition().getMethods().stream()
+                        .flatMap(method -> entry.getKey().getPatternValues().stream()
+                                .map(pattern -> method.name() + " " + pattern)))
+                .collect(Collectors.toCollection(TreeSet::new));
+        Set<String> presupuestados = presupuestos()
+                .map(Presupuesto::endpoint)
+                .collect(Collectors.toCollection(TreeSet::new));
+
+        assertFalse(endpoints.isEmpty());
+        assertEquals(endpoints, presupuestados);
+    }
+}
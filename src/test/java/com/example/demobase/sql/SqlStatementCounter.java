@@ -0,0 +1,137 @@
+package com.example.demobase.sql;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.task.TaskDecorator;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Cuenta las sentencias SQL que llegan a la base, sean de Hibernate o de JdbcTemplate.
+// Se agrega al contexto con @Import(SqlStatementCounter.class): envuelve el DataSource y
+// cuenta cada ejecución (execute*, y executeBatch como una sola) hecha desde el hilo que
+// llamó a start() o desde las tareas asincrónicas que ese hilo lance (por ejemplo una
+// exportación con StreamingResponseBody). Lo que hacen los volcados programados y el
+// escritor del historial en sus propios hilos no se cuenta.
+public class SqlStatementCounter implements BeanPostProcessor, TaskDecorator {
+
+    private static final Set<String> EJECUCIONES = Set.of("execute", "executeQuery", "executeUpdate",
+            "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    private final ThreadLocal<List<String>> registro = new ThreadLocal<>();
+
+    public void start() {
+        registro.set(Collections.synchronizedList(new ArrayList<>()));
+    }
+
+    public void stop() {
+        registro.remove();
+    }
+
+    // Sentencias ejecutadas desde start(), en orden
+    public List<String> statements() {
+        List<String> sentencias = registro.get();
+        if (sentencias == null) {
+            throw new IllegalStateException("El contador no se inició en este hilo");
+        }
+        synchronized (sentencias) {
+            return List.copyOf(sentencias);
+        }
+    }
+
+    public int count() {
+        return statements().size();
+    }
+
+    // SELECT, INSERT, UPDATE, DELETE...
+    public long count(String tipo) {
+        return statements().stream()
+                .filter(sql -> sql.regionMatches(true, 0, tipo, 0, tipo.length()))
+                .count();
+    }
+
+    // Si no coincide, el mensaje lista las sentencias ejecutadas
+    public void assertStatements(int esperadas, String operacion) {
+        List<String> sentencias = statements();
+        assertEquals(esperadas, sentencias.size(), () -> operacion + ": se esperaban " + esperadas
+                + " sentencias SQL y se ejecutaron " + sentencias.size() + "\n  " + String.join("\n  ", sentencias));
+    }
+
+    @Override
+    public Runnable decorate(Runnable tarea) {
+        List<String> sentencias = registro.get();
+        if (sentencias == null) {
+            return tarea;
+        }
+        return () -> {
+            registro.set(sentencias);
+            try {
+                tarea.run();
+            } finally {
+                registro.remove();
+            }
+        };
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof DataSource dataSource)) {
+            return bean;
+        }
+        ProxyFactory proxy = new ProxyFactory(dataSource);
+        proxy.addAdvice((MethodInterceptor) invocation -> {
+            Object resultado = invocation.proceed();
+            return resultado instanceof Connection connection ? connection(connection) : resultado;
+        });
+        return proxy.getProxy();
+    }
+
+    private Connection connection(Connection connection) {
+        ProxyFactory proxy = new ProxyFactory(connection);
+        proxy.addAdvice((MethodInterceptor) invocation -> {
+            Object resultado = invocation.proceed();
+            if (resultado instanceof Statement statement) {
+                // prepareStatement y prepareCall reciben el SQL; createStatement lo recibe al ejecutar
+                Object[] argumentos = invocation.getArguments();
+                String sql = argumentos.length > 0 && argumentos[0] instanceof String texto ? texto : null;
+                return statement(statement, sql);
+            }
+            return resultado;
+        });
+        return (Connection) proxy.getProxy();
+    }
+
+    private Statement statement(Statement statement, String preparada) {
+        ProxyFactory proxy = new ProxyFactory(statement);
+        List<String> lote = new ArrayList<>();
+        proxy.addAdvice((MethodInterceptor) invocation -> {
+            String metodo = invocation.getMethod().getName();
+            Object[] argumentos = invocation.getArguments();
+            if (preparada == null && metodo.equals("addBatch") && argumentos.length == 1) {
+                lote.add((String) argumentos[0]);
+            } else if (EJECUCIONES.contains(metodo)) {
+                String sql = argumentos.length > 0 && argumentos[0] instanceof String texto ? texto
+                        : preparada != null ? preparada : String.join("; ", lote);
+                record(sql);
+                lote.clear();
+            }
+            return invocation.proceed();
+        });
+        return (Statement) proxy.getProxy();
+    }
+
+    private void record(String sql) {
+        List<String> sentencias = registro.get();
+        if (sentencias != null) {
+            sentencias.add(sql.strip().replaceAll("\\s+", " "));
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.demobase.store;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DataVersionTest {
+
+    private final DataVersion dataVersion = new DataVersion();
+
+    @Test
+    void testPlayersChanged_ChangesPlayersAndScoreboard() {
+        DataVersion.Tag jugadores = dataVersion.players();
+        DataVersion.Tag grilla = dataVersion.scoreboard();
+
+        dataVersion.playersChanged();
+
+        assertNotEquals(jugadores.etag(), dataVersion.players().etag());
+        assertNotEquals(grilla.etag(), dataVersion.scoreboard().etag());
+        assertTrue(dataVersion.players().lastModified() >= jugadores.lastModified());
+    }
+
+    @Test
+    void testScoresChanged_KeepsPlayersTag() {
+        DataVersion.Tag jugadores = dataVersion.players();
+        DataVersion.Tag grilla = dataVersion.scoreboard();
+
+        dataVersion.scoresChanged();
+
+        assertEquals(jugadores, dataVersion.players());
+        assertNotEquals(grilla.etag(), dataVersion.scoreboard().etag());
+    }
+
+    @Test
+    void testTags_AreStrongAndSecondPrecision() {
+        DataVersion.Tag grilla = dataVersion.scoreboard();
+
+        assertTrue(grilla.etag().startsWith("\""));
+        assertEquals(0, grilla.lastModified() % 1000);
+    }
+}
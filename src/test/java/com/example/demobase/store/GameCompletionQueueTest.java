@@ -0,0 +1,286 @@
+package com.example.demobase.store;
+
+import com.example.demobase.model.FinishedGame;
+import com.example.demobase.model.GameInProgress;
+import com.example.demobase.model.Player;
+import com.example.demobase.model.PlayerStats;
+import com.example.demobase.model.Word;
+import com.example.demobase.repository.FinishedGameRepository;
+import com.example.demobase.repository.GameInProgressRepository;
+import com.example.demobase.repository.GameRepository;
+import com.example.demobase.repository.PlayerRepository;
+import com.example.demobase.repository.PlayerStatsRepository;
+import com.example.demobase.repository.WordRepository;
+import com.example.demobase.sql.SqlStatementCounter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+// Lotes de 2 partidas para que el escritor arme más de un lote. La recuperación periódica no
+// corre durante las pruebas: se llama directamente
+@DataJpaTest(properties = {
+        "game.completion.batch-size=2",
+        "game.completion.max-attempts=2",
+        "game.completion.recovery-interval-ms=3600000"
+})
+@ActiveProfiles("test")
+@Import({GameCompletionQueue.class, DataVersion.class, SqlStatementCounter.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class GameCompletionQueueTest {
+
+    @Autowired
+    private GameCompletionQueue gameCompletionQueue;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private GameInProgressRepository gameInProgressRepository;
+
+    @Autowired
+    private FinishedGameRepository finishedGameRepository;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private PlayerStatsRepository playerStatsRepository;
+
+    @Autowired
+    private WordRepository wordRepository;
+
+    @Autowired
+    private SqlStatementCounter sqlCounter;
+
+    @MockBean
+    private Leaderboard leaderboard;
+
+    @MockBean
+    private WordCatalog wordCatalog;
+
+    private Player juan;
+    private Player maria;
+
+    @BeforeEach
+    void setUp() {
+        juan = playerRepository.save(new Player(null, "Juan Pérez", LocalDate.of(2025, 1, 15)));
+        maria = playerRepository.save(new Player(null, "María García", LocalDate.of(2025, 1, 20)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        sqlCounter.stop();
+        gameRepository.deleteAllInBatch();
+        gameInProgressRepository.deleteAllInBatch();
+        finishedGameRepository.deleteAllInBatch();
+        playerStatsRepository.deleteAllInBatch();
+        wordRepository.deleteAllInBatch();
+        playerRepository.deleteAllInBatch();
+    }
+
+    // write no toca games_in_progress: la partida no necesita fila, y un jugador puede tener varias en el lote
+    private GameInProgress newGameInProgress(Player jugador, String palabra, boolean utilizada) {
+        GameInProgress game = new GameInProgress();
+        game.setJugador(jugador);
+        game.setPalabra(wordRepository.save(new Word(null, palabra, utilizada)));
+        game.setIntentosRestantes(0);
+        game.setFechaInicio(LocalDateTime.now());
+        return game;
+    }
+
+    private GameInProgress saveGameInProgress(Player jugador, String palabra, boolean utilizada) {
+        return gameInProgressRepository.save(newGameInProgress(jugador, palabra, utilizada));
+    }
+
+    @Test
+    void testWrite_RecordsGamesAndStats() {
+        // Given
+        GameInProgress juanGanada = newGameInProgress(juan, "PROGRAMADOR", true);
+        GameInProgress juanPerdida = newGameInProgress(juan, "COMPUTADORA", true);
+        // Partida retomada tras un reinicio: la palabra todavía no figura como utilizada
+        GameInProgress mariaGanada = newGameInProgress(maria, "DESARROLLADOR", false);
+        playerStatsRepository.save(new PlayerStats(juan.getId(), 10, 1L, 1L, 0L));
+
+        // When
+        int registradas = gameCompletionQueue.write(List.of(
+                GameCompletion.of(juanGanada, true, 20),
+                GameCompletion.of(juanPerdida, false, 3),
+                GameCompletion.of(mariaGanada, true, 20)));
+
+        // Then
+        assertEquals(3, registradas);
+        assertEquals(3, gameRepository.count());
+        assertEquals(new PlayerStats(juan.getId(), 33, 3L, 2L, 1L), playerStatsRepository.findById(juan.getId()).orElseThrow());
+        assertEquals(new PlayerStats(maria.getId(), 20, 1L, 1L, 0L), playerStatsRepository.findById(maria.getId()).orElseThrow());
+        assertTrue(wordRepository.findByPalabra("DESARROLLADOR").orElseThrow().getUtilizada());
+        verify(leaderboard, times(1)).recordGame(juan.getId(), "Juan Pérez", 20, true);
+        verify(leaderboard, times(1)).recordGame(juan.getId(), "Juan Pérez", 3, false);
+        verify(leaderboard, times(1)).recordGame(maria.getId(), "María García", 20, true);
+        verify(wordCatalog, times(1)).invalidate();
+    }
+
+    @Test
+    void testWrite_StatementsDependOnPlayersNotGames() {
+        // Given
+        List<GameCompletion> lote = List.of(
+                GameCompletion.of(newGameInProgress(juan, "PROGRAMADOR", true), true, 20),
+                GameCompletion.of(newGameInProgress(juan, "COMPUTADORA", true), false, 3),
+                GameCompletion.of(newGameInProgress(juan, "DESARROLLADOR", true), true, 20),
+                GameCompletion.of(newGameInProgress(maria, "ADMINISTRADOR", true), false, 5));
+        playerStatsRepository.save(new PlayerStats(juan.getId(), 10, 1L, 1L, 0L));
+        playerStatsRepository.save(new PlayerStats(maria.getId(), 0, 1L, 0L, 1L));
+        sqlCounter.start();
+
+        // When
+        gameCompletionQueue.write(lote);
+
+        // Then: eventos ya registrados, INSERT en batch, un UPDATE por jugador y DELETE de las partidas guardadas
+        sqlCounter.assertStatements(5, "write de 4 partidas de 2 jugadores");
+        assertEquals(2, sqlCounter.count("UPDATE"));
+        assertEquals(4, gameRepository.count());
+    }
+
+    @Test
+    void testWrite_RetriedBatchIsNotRecordedTwice() {
+        // Given
+        List<GameCompletion> lote = List.of(
+                GameCompletion.of(newGameInProgress(juan, "PROGRAMADOR", true), true, 20),
+                GameCompletion.of(newGameInProgress(maria, "COMPUTADORA", true), false, 4));
+        gameCompletionQueue.write(lote);
+
+        // When
+        int registradas = gameCompletionQueue.write(lote);
+
+        // Then
+        assertEquals(0, registradas);
+        assertEquals(2, gameRepository.count());
+        assertEquals(20, playerStatsRepository.findById(juan.getId()).orElseThrow().getPuntajeTotal());
+        assertEquals(1L, playerStatsRepository.findById(maria.getId()).orElseThrow().getPartidasJugadas());
+        verify(leaderboard, times(2)).recordGame(anyLong(), anyString(), anyInt(), anyBoolean());
+    }
+
+    @Test
+    void testWrite_RolledBackBatchDoesNotMarkWords() {
+        // Given: el jugador ya no existe, el INSERT en games falla y el lote se revierte
+        GameInProgress partida = newGameInProgress(juan, "PROGRAMADOR", false);
+        partida.setJugador(new Player(-1L, "Borrado", LocalDate.of(2025, 1, 15)));
+        List<GameCompletion> lote = List.of(GameCompletion.of(partida, true, 20));
+
+        // When
+        assertThrows(RuntimeException.class, () -> gameCompletionQueue.write(lote));
+
+        // Then
+        assertFalse(wordRepository.findByPalabra("PROGRAMADOR").orElseThrow().getUtilizada());
+        verify(wordCatalog, never()).invalidate();
+        assertEquals(0, gameRepository.count());
+    }
+
+    @Test
+    void testSubmit_SavesFinishedGameBeforeReturning() throws InterruptedException {
+        // Given
+        GameInProgress partida = saveGameInProgress(juan, "PROGRAMADOR", true);
+
+        // When
+        gameCompletionQueue.submit(GameCompletion.of(partida, true, 20));
+
+        // Then: la partida ya no se puede retomar aunque el escritor todavía no la haya registrado
+        assertEquals(0, gameInProgressRepository.count());
+        waitUntilRecorded();
+        assertEquals(1, gameRepository.count());
+        assertEquals(0, finishedGameRepository.count());
+    }
+
+    @Test
+    void testSubmit_WriterDrainsQueueInBatches() throws InterruptedException {
+        // When: cada partida se empieza cuando la anterior del mismo jugador ya se guardó
+        gameCompletionQueue.submit(GameCompletion.of(saveGameInProgress(juan, "PROGRAMADOR", true), true, 20));
+        gameCompletionQueue.submit(GameCompletion.of(saveGameInProgress(maria, "COMPUTADORA", true), true, 20));
+        gameCompletionQueue.submit(GameCompletion.of(saveGameInProgress(juan, "DESARROLLADOR", true), true, 20));
+
+        // Then
+        waitUntilRecorded();
+        assertEquals(0, finishedGameRepository.count());
+        assertEquals(0, gameInProgressRepository.count());
+        assertEquals(3, gameRepository.count());
+        assertEquals(40, playerStatsRepository.findById(juan.getId()).orElseThrow().getPuntajeTotal());
+        assertEquals(0, gameCompletionQueue.pending());
+    }
+
+    @Test
+    void testRecover_RecordsGamesLeftByAnotherInstance() {
+        // Given: una instancia se cayó después de guardar la partida y antes de registrarla
+        Word palabra = wordRepository.save(new Word(null, "PROGRAMADOR", false));
+        finishedGameRepository.save(new FinishedGame(null, "evento-viejo", juan.getId(), "Juan Pérez",
+                palabra.getId(), "GANADO", 20, LocalDateTime.now().minusMinutes(10), 0, null, false));
+        // Recién terminada: todavía puede estar en la cola de quien la terminó
+        finishedGameRepository.save(new FinishedGame(null, "evento-nuevo", maria.getId(), "María García",
+                palabra.getId(), "PERDIDO", 3, LocalDateTime.now(), 0, null, false));
+
+        // When
+        int recuperadas = gameCompletionQueue.recover();
+
+        // Then
+        assertEquals(1, recuperadas);
+        assertEquals(1, gameRepository.count());
+        assertEquals("evento-nuevo", finishedGameRepository.findAll().get(0).getEvento());
+        assertEquals(new PlayerStats(juan.getId(), 20, 1L, 1L, 0L), playerStatsRepository.findById(juan.getId()).orElseThrow());
+        assertTrue(wordRepository.findByPalabra("PROGRAMADOR").orElseThrow().getUtilizada());
+        verify(leaderboard, times(1)).recordGame(juan.getId(), "Juan Pérez", 20, true);
+    }
+
+    @Test
+    void testWriteBatch_FailingGameDoesNotBlockOthersAndEndsFailed() {
+        // Given: una partida de un jugador que ya no existe en el mismo lote que una válida
+        Word palabra = wordRepository.save(new Word(null, "PROGRAMADOR", true));
+        LocalDateTime vieja = LocalDateTime.now().minusMinutes(10);
+        FinishedGame valida = finishedGameRepository.save(new FinishedGame(null, "evento-valido", juan.getId(),
+                "Juan Pérez", palabra.getId(), "GANADO", 20, vieja, 0, null, false));
+        FinishedGame huerfana = finishedGameRepository.save(new FinishedGame(null, "evento-huerfano", -1L,
+                "Borrado", palabra.getId(), "PERDIDO", 3, vieja, 0, null, false));
+        long fallidas = gameCompletionQueue.failed();
+
+        // When
+        int fallos = gameCompletionQueue.writeBatch(List.of(GameCompletion.from(valida), GameCompletion.from(huerfana)));
+
+        // Then: la válida se registra y la otra queda pendiente con el error
+        assertEquals(1, fallos);
+        assertEquals(1, gameRepository.count());
+        FinishedGame pendiente = finishedGameRepository.findAll().get(0);
+        assertEquals("evento-huerfano", pendiente.getEvento());
+        assertEquals(1, pendiente.getIntentos());
+        assertNotNull(pendiente.getError());
+        assertFalse(pendiente.getFallida());
+
+        // When: la recuperación la vuelve a intentar y llega al máximo de intentos
+        assertEquals(1, gameCompletionQueue.recover());
+
+        // Then: queda marcada y la recuperación ya no la toma
+        pendiente = finishedGameRepository.findAll().get(0);
+        assertEquals(2, pendiente.getIntentos());
+        assertTrue(pendiente.getFallida());
+        assertEquals(fallidas + 1, gameCompletionQueue.failed());
+        assertEquals(0, gameCompletionQueue.recover());
+        assertEquals(1, gameRepository.count());
+    }
+
+    private void waitUntilRecorded() throws InterruptedException {
+        long limite = System.currentTimeMillis() + 5000;
+        while (finishedGameRepository.count() > 0 && System.currentTimeMillis() < limite) {
+            Thread.sleep(20);
+        }
+    }
+}
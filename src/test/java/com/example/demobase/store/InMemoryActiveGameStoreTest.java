@@ -0,0 +1,312 @@
+package com.example.demobase.store;
+
+import com.example.demobase.game.Alphabet;
+import com.example.demobase.model.GameInProgress;
+import com.example.demobase.model.Player;
+import com.example.demobase.model.Word;
+import com.example.demobase.repository.GameInProgressRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InMemoryActiveGameStoreTest {
+
+    @Mock
+    private GameInProgressRepository gameInProgressRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private InMemoryActiveGameStore store;
+
+    private Player player;
+    private Word word;
+
+    @BeforeEach
+    void setUp() {
+        store = new InMemoryActiveGameStore(gameInProgressRepository, new TransactionTemplate(transactionManager));
+        player = new Player(1L, "Juan Pérez", LocalDate.of(2025, 1, 15));
+        word = new Word(1L, "PROGRAMADOR", true);
+    }
+
+    private GameInProgress newGame(Player jugador, LocalDateTime fechaInicio) {
+        GameInProgress game = new GameInProgress();
+        game.setJugador(jugador);
+        game.setPalabra(word);
+        game.setIntentosRestantes(7);
+        game.setFechaInicio(fechaInicio);
+        return game;
+    }
+
+    @Test
+    void testFindByPlayer_ReadsDatabaseOncePerPlayer() {
+        // Given
+        GameInProgress stored = newGame(player, LocalDateTime.now());
+        stored.setId(2L);
+        when(gameInProgressRepository.findFirstByJugadorIdOrderByFechaInicioDesc(1L)).thenReturn(Optional.of(stored));
+        when(gameInProgressRepository.findFirstByJugadorIdOrderByFechaInicioDesc(2L)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertSame(stored, store.findByPlayer(1L).orElseThrow());
+        assertSame(stored, store.findByPlayer(1L).orElseThrow());
+        assertTrue(store.findByPlayer(2L).isEmpty());
+        assertTrue(store.findByPlayer(2L).isEmpty());
+        assertEquals(1, store.size());
+        verify(gameInProgressRepository, times(1)).findFirstByJugadorIdOrderByFechaInicioDesc(1L);
+        verify(gameInProgressRepository, times(1)).findFirstByJugadorIdOrderByFechaInicioDesc(2L);
+    }
+
+    @Test
+    void testFindByPlayer_MigratesLegacyLetters() {
+        // Given
+        GameInProgress legacy = newGame(player, LocalDateTime.now());
+        legacy.setId(1L);
+        legacy.setLetrasIntentadas("P,R,X");
+        when(gameInProgressRepository.findFirstByJugadorIdOrderByFechaInicioDesc(1L)).thenReturn(Optional.of(legacy));
+        when(gameInProgressRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        store.findByPlayer(1L);
+
+        // Then
+        assertEquals(Alphabet.fromLegacy("P,R,X"), legacy.getLetrasIntentadasMask());
+        assertEquals("", legacy.getLetrasIntentadas());
+        store.flush();
+        verify(gameInProgressRepository, times(1)).saveAll(List.of(legacy));
+    }
+
+    @Test
+    void testRemove_DoesNotReadFinishedGameBack() {
+        // Given
+        GameInProgress stored = newGame(player, LocalDateTime.now());
+        stored.setId(2L);
+        when(gameInProgressRepository.findFirstByJugadorIdOrderByFechaInicioDesc(1L)).thenReturn(Optional.of(stored));
+        store.findByPlayer(1L);
+
+        // When
+        store.remove(stored);
+
+        // Then
+        assertTrue(store.findByPlayer(1L).isEmpty());
+        verify(gameInProgressRepository, times(1)).findFirstByJugadorIdOrderByFechaInicioDesc(1L);
+    }
+
+    @Test
+    void testFindByPlayer_DiscardsRowReadWhileGameFinished() {
+        // Given: mientras se lee la fila, la partida se juega en otro pedido y termina
+        GameInProgress leida = newGame(player, LocalDateTime.now());
+        leida.setId(2L);
+        GameInProgress jugada = newGame(player, LocalDateTime.now());
+        jugada.setId(2L);
+        when(gameInProgressRepository.findFirstByJugadorIdOrderByFechaInicioDesc(1L)).thenAnswer(invocation -> {
+            store.save(jugada);
+            store.remove(jugada);
+            return Optional.of(leida);
+        });
+
+        // When & Then
+        assertTrue(store.findByPlayer(1L).isEmpty());
+        assertTrue(store.findByPlayer(1L).isEmpty());
+        assertEquals(0, store.size());
+        verify(gameInProgressRepository, times(1)).findFirstByJugadorIdOrderByFechaInicioDesc(1L);
+    }
+
+    @Test
+    void testSize_CountsOnlyActiveGames() {
+        // Given
+        Player maria = new Player(2L, "María García", LocalDate.of(2025, 1, 20));
+        GameInProgress juanGame = newGame(player, LocalDateTime.now());
+        store.putIfAbsent(juanGame);
+        store.putIfAbsent(newGame(maria, LocalDateTime.now()));
+        store.findByPlayer(3L);
+
+        // When
+        store.remove(juanGame);
+        store.remove(juanGame);
+
+        // Then
+        assertEquals(1, store.size());
+        assertTrue(store.findByPlayer(1L).isEmpty());
+        assertTrue(store.putIfAbsent(newGame(player, LocalDateTime.now())));
+        assertEquals(2, store.size());
+    }
+
+    @Test
+    void testPutIfAbsent_RejectsSecondGame() {
+        assertTrue(store.putIfAbsent(newGame(player, LocalDateTime.now())));
+        assertFalse(store.putIfAbsent(newGame(player, LocalDateTime.now())));
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    void testPutIfAbsent_InsertsRowRightAway() {
+        // Given
+        GameInProgress game = newGame(player, LocalDateTime.now());
+
+        // When
+        assertTrue(store.putIfAbsent(game));
+        store.flush();
+
+        // Then: la fila ya existe, el volcado no tiene nada que escribir
+        verify(gameInProgressRepository, times(1)).save(game);
+        verify(gameInProgressRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void testPutIfAbsent_RejectedWhenAnotherInstanceHasAGame() {
+        // Given: este nodo no vio la partida que el jugador empezó en otra instancia
+        GameInProgress otra = newGame(player, LocalDateTime.now());
+        otra.setId(9L);
+        when(gameInProgressRepository.findFirstByJugadorIdOrderByFechaInicioDesc(1L))
+                .thenReturn(Optional.empty(), Optional.of(otra));
+        when(gameInProgressRepository.save(any(GameInProgress.class)))
+                .thenThrow(new DataIntegrityViolationException("uk_games_in_progress_jugador"));
+
+        // When
+        assertFalse(store.putIfAbsent(newGame(player, LocalDateTime.now())));
+
+        // Then: no queda en memoria y la próxima consulta lee la partida de la base
+        assertEquals(0, store.size());
+        assertSame(otra, store.findByPlayer(1L).orElseThrow());
+    }
+
+    @Test
+    void testSave_DoesNotTouchRepositoryUntilFlush() {
+        // Given
+        GameInProgress game = newGame(player, LocalDateTime.now());
+
+        when(gameInProgressRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        store.putIfAbsent(game);
+        store.save(game);
+        store.save(game);
+
+        // Then
+        verify(gameInProgressRepository, never()).saveAll(anyList());
+
+        store.flush();
+        verify(gameInProgressRepository, times(1)).saveAll(List.of(game));
+
+        // Sin cambios nuevos no se vuelve a escribir
+        store.flush();
+        verify(gameInProgressRepository, times(1)).saveAll(anyList());
+    }
+
+    @Test
+    void testFlush_FailureKeepsGameDirty() {
+        // Given
+        GameInProgress game = newGame(player, LocalDateTime.now());
+        store.putIfAbsent(game);
+        store.save(game);
+        when(gameInProgressRepository.saveAll(anyList()))
+                .thenThrow(new RuntimeException("DB caída"))
+                .thenReturn(List.of(game));
+
+        // When
+        store.flush();
+        store.flush();
+
+        // Then
+        verify(gameInProgressRepository, times(2)).saveAll(List.of(game));
+    }
+
+    @Test
+    void testFlush_FailingRowDoesNotBlockBatch() {
+        // Given
+        GameInProgress buena = newGame(player, LocalDateTime.now());
+        GameInProgress mala = newGame(new Player(2L, "María García", LocalDate.of(2025, 1, 20)), LocalDateTime.now());
+        store.putIfAbsent(buena);
+        store.putIfAbsent(mala);
+        store.save(buena);
+        store.save(mala);
+        when(gameInProgressRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<GameInProgress> lote = invocation.getArgument(0);
+            if (lote.contains(mala)) {
+                throw new RuntimeException("fila rechazada");
+            }
+            return lote;
+        });
+
+        // When: con el límite de 3 fallos, la partida mala se deja de volcar al tercero
+        store.flush();
+        store.flush();
+        store.flush();
+        store.flush();
+
+        // Then
+        verify(gameInProgressRepository, times(1)).saveAll(List.of(buena));
+        verify(gameInProgressRepository, times(3)).saveAll(List.of(mala));
+
+        // Un cambio nuevo la vuelve a marcar
+        store.save(mala);
+        store.flush();
+        verify(gameInProgressRepository, times(4)).saveAll(List.of(mala));
+    }
+
+    @Test
+    void testFlush_DeletesRowOfGameFinishedWhileWriting() {
+        // Given: la partida termina mientras el volcado la inserta
+        GameInProgress game = newGame(player, LocalDateTime.now());
+        store.putIfAbsent(game);
+        store.save(game);
+        when(gameInProgressRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            game.setId(7L);
+            game.setTerminada(true);
+            return invocation.getArgument(0);
+        });
+
+        // When
+        store.flush();
+
+        // Then
+        verify(gameInProgressRepository, times(1)).deleteById(7L);
+    }
+
+    @Test
+    void testRemove_RowAlreadyDeletedByCompletionQueue() {
+        // Given
+        GameInProgress game = newGame(player, LocalDateTime.now());
+        game.setId(5L);
+        store.save(game);
+
+        // When
+        store.remove(game);
+        store.flush();
+
+        // Then
+        assertTrue(store.findByPlayer(1L).isEmpty());
+        verify(gameInProgressRepository, never()).deleteById(any());
+        verify(gameInProgressRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void testRemove_UnflushedGameSkipsRepository() {
+        // Given
+        GameInProgress game = newGame(player, LocalDateTime.now());
+        store.putIfAbsent(game);
+
+        // When
+        store.remove(game);
+
+        // Then
+        assertEquals(0, store.size());
+        verify(gameInProgressRepository, never()).deleteById(any());
+    }
+}
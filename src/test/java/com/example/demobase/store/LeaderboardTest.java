@@ -0,0 +1,186 @@
+package com.example.demobase.store;
+
+import com.example.demobase.dto.RankDTO;
+import com.example.demobase.dto.ScoreboardDTO;
+import com.example.demobase.repository.PlayerStatsRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LeaderboardTest {
+
+    @Mock
+    private PlayerStatsRepository playerStatsRepository;
+
+    @InjectMocks
+    private Leaderboard leaderboard;
+
+    private void givenScoreboard(ScoreboardDTO... rows) {
+        when(playerStatsRepository.findScoreboard()).thenReturn(Arrays.asList(rows));
+    }
+
+    private static List<Long> ids(List<ScoreboardDTO> rows) {
+        return rows.stream().map(ScoreboardDTO::getIdJugador).collect(Collectors.toList());
+    }
+
+    @Test
+    void testTopAndRank_LoadedOnceFromDatabase() {
+        // Given
+        givenScoreboard(
+                new ScoreboardDTO(3L, "Pedro", 100, 5L, 5L, 0L),
+                new ScoreboardDTO(1L, "Juan", 45, 3L, 2L, 1L),
+                new ScoreboardDTO(2L, "María", 0, 0L, 0L, 0L));
+
+        // When & Then
+        assertEquals(List.of(3L, 1L), ids(leaderboard.top(2)));
+        assertEquals(List.of(3L, 1L, 2L), ids(leaderboard.top(10)));
+
+        RankDTO rank = leaderboard.rankOf(1L).orElseThrow();
+        assertEquals(2, rank.getPosicion());
+        assertEquals(3, rank.getTotalJugadores());
+        assertEquals(45, rank.getPuntajeTotal());
+        assertTrue(leaderboard.rankOf(99L).isEmpty());
+
+        verify(playerStatsRepository, times(1)).findScoreboard();
+    }
+
+    @Test
+    void testRecordGame_MovesPlayerUp() {
+        // Given
+        givenScoreboard(
+                new ScoreboardDTO(3L, "Pedro", 100, 5L, 5L, 0L),
+                new ScoreboardDTO(1L, "Juan", 45, 3L, 2L, 1L));
+        leaderboard.size();
+
+        // When
+        leaderboard.recordGame(1L, "Juan", 60, true);
+
+        // Then
+        ScoreboardDTO first = leaderboard.top(1).get(0);
+        assertEquals(1L, first.getIdJugador());
+        assertEquals(105, first.getPuntajeTotal());
+        assertEquals(4L, first.getPartidasJugadas());
+        assertEquals(3L, first.getPartidasGanadas());
+        assertEquals(2, leaderboard.rankOf(3L).orElseThrow().getPosicion());
+    }
+
+    @Test
+    void testPlayerSavedAndRemoved() {
+        // Given
+        givenScoreboard(new ScoreboardDTO(1L, "Juan", 45, 3L, 2L, 1L));
+        leaderboard.size();
+
+        // When
+        leaderboard.playerSaved(2L, "María");
+        leaderboard.playerSaved(1L, "Juan Carlos");
+
+        // Then
+        assertEquals(2, leaderboard.size());
+        assertEquals("Juan Carlos", leaderboard.top(1).get(0).getNombreJugador());
+        assertEquals(45, leaderboard.top(1).get(0).getPuntajeTotal());
+        assertEquals(2, leaderboard.rankOf(2L).orElseThrow().getPosicion());
+
+        leaderboard.playerRemoved(1L);
+        assertEquals(1, leaderboard.size());
+        assertEquals(1, leaderboard.rankOf(2L).orElseThrow().getPosicion());
+    }
+
+    @Test
+    void testTiesOrderedById() {
+        // Given
+        givenScoreboard();
+        leaderboard.size();
+
+        // When
+        leaderboard.recordGame(5L, "E", 20, true);
+        leaderboard.recordGame(2L, "B", 20, true);
+        leaderboard.recordGame(9L, "I", 20, true);
+
+        // Then
+        assertEquals(List.of(2L, 5L, 9L), ids(leaderboard.top(3)));
+        assertEquals(3, leaderboard.rankOf(9L).orElseThrow().getPosicion());
+    }
+
+    @Test
+    void testRankMatchesSortedOrder() {
+        // Given
+        givenScoreboard();
+        leaderboard.size();
+        Random random = new Random(42);
+        List<ScoreboardDTO> esperado = new ArrayList<>();
+        for (long id = 1; id <= 500; id++) {
+            int puntaje = random.nextInt(50);
+            leaderboard.recordGame(id, "J" + id, puntaje, true);
+            esperado.add(new ScoreboardDTO(id, "J" + id, puntaje, 1L, 1L, 0L));
+        }
+        esperado.sort(Leaderboard.ORDEN);
+
+        // When & Then
+        assertEquals(ids(esperado), ids(leaderboard.top(500)));
+        for (int i = 0; i < esperado.size(); i += 37) {
+            assertEquals(i + 1, leaderboard.rankOf(esperado.get(i).getIdJugador()).orElseThrow().getPosicion());
+        }
+    }
+
+    @Test
+    void testInvalidate_ReloadsOnNextQuery() {
+        // Given
+        givenScoreboard(new ScoreboardDTO(1L, "Juan", 45, 3L, 2L, 1L));
+        leaderboard.size();
+
+        // When
+        leaderboard.invalidate();
+        leaderboard.size();
+
+        // Then
+        verify(playerStatsRepository, times(2)).findScoreboard();
+    }
+
+    @Test
+    void testReload_WaitsForCommitInProgress() throws Exception {
+        // Given: la base leída por la recarga ya incluye la partida que se está confirmando
+        when(playerStatsRepository.findScoreboard()).thenReturn(
+                List.of(new ScoreboardDTO(1L, "Juan", 45, 3L, 2L, 1L)),
+                List.of(new ScoreboardDTO(1L, "Juan", 65, 4L, 3L, 1L)));
+        leaderboard.size();
+
+        TransactionSynchronizationManager.initSynchronization();
+        CompletableFuture<Void> recarga;
+        try {
+            leaderboard.recordGame(1L, "Juan", 20, true);
+            List<TransactionSynchronization> sincronizaciones = TransactionSynchronizationManager.getSynchronizations();
+            sincronizaciones.forEach(sincronizacion -> sincronizacion.beforeCommit(false));
+
+            // When: la recarga empieza mientras la transacción confirma
+            recarga = CompletableFuture.runAsync(leaderboard::reload);
+            verify(playerStatsRepository, after(200).times(1)).findScoreboard();
+            sincronizaciones.forEach(TransactionSynchronization::afterCommit);
+            sincronizaciones.forEach(sincronizacion -> sincronizacion.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        recarga.get(5, TimeUnit.SECONDS);
+
+        // Then: la partida se cuenta una sola vez
+        ScoreboardDTO juan = leaderboard.top(1).get(0);
+        assertEquals(65, juan.getPuntajeTotal());
+        assertEquals(4L, juan.getPartidasJugadas());
+        verify(playerStatsRepository, times(2)).findScoreboard();
+    }
+}
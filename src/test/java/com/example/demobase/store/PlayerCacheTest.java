@@ -0,0 +1,87 @@
+package com.example.demobase.store;
+
+import com.example.demobase.model.Player;
+import com.example.demobase.repository.PlayerRepository;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@SpringJUnitConfig(PlayerCacheTest.Config.class)
+class PlayerCacheTest {
+
+    @Configuration
+    @EnableCaching
+    @Import(PlayerCache.class)
+    static class Config {
+
+        @Bean
+        CacheManager cacheManager() {
+            CaffeineCacheManager cacheManager = new CaffeineCacheManager(PlayerCache.PLAYERS);
+            cacheManager.setCaffeine(Caffeine.newBuilder().maximumSize(100).recordStats());
+            return cacheManager;
+        }
+    }
+
+    @MockBean
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private PlayerCache playerCache;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Player player;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache(PlayerCache.PLAYERS).clear();
+        player = new Player(1L, "Juan Pérez", LocalDate.of(2025, 1, 15));
+    }
+
+    @Test
+    void testFindById_SecondLookupServedFromCache() {
+        when(playerRepository.findById(1L)).thenReturn(Optional.of(player));
+
+        assertEquals(player, playerCache.findById(1L).orElseThrow());
+        assertEquals(player, playerCache.findById(1L).orElseThrow());
+
+        verify(playerRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    void testFindById_MissingPlayerIsNotCached() {
+        when(playerRepository.findById(999L)).thenReturn(Optional.empty());
+
+        assertTrue(playerCache.findById(999L).isEmpty());
+        assertTrue(playerCache.findById(999L).isEmpty());
+
+        verify(playerRepository, times(2)).findById(999L);
+    }
+
+    @Test
+    void testEvict_NextLookupReadsRepository() {
+        when(playerRepository.findById(1L)).thenReturn(Optional.of(player));
+        playerCache.findById(1L);
+
+        playerCache.evict(1L);
+        playerCache.findById(1L);
+
+        verify(playerRepository, times(2)).findById(1L);
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.demobase.store;
+
+import com.example.demobase.model.Word;
+import com.example.demobase.repository.WordRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WordCatalogTest {
+
+    @Mock
+    private WordRepository wordRepository;
+
+    private WordCatalog wordCatalog;
+
+    @BeforeEach
+    void setUp() {
+        wordCatalog = new WordCatalog(wordRepository, new ObjectMapper());
+    }
+
+    @Test
+    void testSnapshot_BuiltOncePerVersion() {
+        // Given
+        when(wordRepository.findAllOrdered()).thenReturn(List.of(new Word(1L, "PROGRAMADOR", true)));
+
+        // When
+        WordCatalog.Snapshot primero = wordCatalog.snapshot();
+        WordCatalog.Snapshot segundo = wordCatalog.snapshot();
+
+        // Then
+        assertSame(primero, segundo);
+        assertEquals("[{\"id\":1,\"palabra\":\"PROGRAMADOR\",\"utilizada\":true}]", new String(primero.json()));
+        verify(wordRepository, times(1)).findAllOrdered();
+    }
+
+    @Test
+    void testInvalidate_RebuildsWithNewEtag() {
+        // Given
+        when(wordRepository.findAllOrdered())
+                .thenReturn(List.of(new Word(2L, "COMPUTADORA", false)))
+                .thenReturn(List.of(new Word(2L, "COMPUTADORA", true)));
+        WordCatalog.Snapshot antes = wordCatalog.snapshot();
+
+        // When
+        wordCatalog.invalidate();
+        WordCatalog.Snapshot despues = wordCatalog.snapshot();
+
+        // Then
+        assertTrue(despues.version() > antes.version());
+        assertNotEquals(antes.etag(), despues.etag());
+        verify(wordRepository, times(2)).findAllOrdered();
+    }
+
+    @Test
+    void testRefresh_ReadsWordsUsedByOtherInstances() {
+        // Given: otra instancia marca la palabra como utilizada sin pasar por este catálogo
+        when(wordRepository.findAllOrdered())
+                .thenReturn(List.of(new Word(4L, "DESARROLLADOR", false)))
+                .thenReturn(List.of(new Word(4L, "DESARROLLADOR", true)));
+        WordCatalog.Snapshot antes = wordCatalog.snapshot();
+
+        // When
+        wordCatalog.refresh();
+        WordCatalog.Snapshot despues = wordCatalog.snapshot();
+
+        // Then
+        assertNotEquals(antes.etag(), despues.etag());
+        assertEquals("[{\"id\":4,\"palabra\":\"DESARROLLADOR\",\"utilizada\":true}]", new String(despues.json()));
+    }
+
+    @Test
+    void testSnapshot_SameContentSameEtag() {
+        // Given
+        when(wordRepository.findAllOrdered()).thenReturn(List.of(new Word(3L, "TECNOLOGIA", false)));
+        WordCatalog.Snapshot antes = wordCatalog.snapshot();
+
+        // When
+        wordCatalog.invalidate();
+        WordCatalog.Snapshot despues = wordCatalog.snapshot();
+
+        // Then
+        assertEquals(antes.etag(), despues.etag());
+        assertNotEquals(despues.etag(), despues.gzipEtag());
+    }
+
+    @Test
+    void testSnapshot_GzipMatchesJson() throws IOException {
+        // Given
+        when(wordRepository.findAllOrdered()).thenReturn(List.of(
+                new Word(1L, "PROGRAMADOR", true), new Word(2L, "COMPUTADORA", false)));
+
+        // When
+        WordCatalog.Snapshot snapshot = wordCatalog.snapshot();
+
+        // Then
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(snapshot.gzip()))) {
+            assertArrayEquals(snapshot.json(), in.readAllBytes());
+        }
+    }
+}
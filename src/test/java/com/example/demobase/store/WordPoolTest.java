@@ -0,0 +1,212 @@
+package com.example.demobase.store;
+
+import com.example.demobase.game.WordIndex;
+import com.example.demobase.model.Word;
+import com.example.demobase.repository.WordRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WordPoolTest {
+
+    private static final long MAXIMO_ID = 1000L;
+
+    @Mock
+    private WordRepository wordRepository;
+
+    @Mock
+    private WordCatalog wordCatalog;
+
+    @InjectMocks
+    private WordPool wordPool;
+
+    private static List<Word> unusedWords(long... ids) {
+        List<Word> words = new ArrayList<>();
+        for (long id : ids) {
+            words.add(new Word(id, "PALABRA" + id, false));
+        }
+        return words;
+    }
+
+    @Test
+    void testClaim_ReturnsEachReservedWordOnce() {
+        // Given
+        when(wordRepository.findMaxId()).thenReturn(MAXIMO_ID);
+        when(wordRepository.reserveBlock(anyString(), any(LocalDateTime.class), any(LocalDateTime.class), anyLong(), anyInt()))
+                .thenReturn(3, 0);
+        when(wordRepository.findReservedWords(anyString())).thenReturn(unusedWords(1L, 2L, 3L));
+
+        // When
+        Set<Long> claimed = new HashSet<>();
+        for (int i = 0; i < 3; i++) {
+            Word word = wordPool.claim().orElseThrow();
+            assertTrue(word.getUtilizada());
+            claimed.add(word.getId());
+        }
+
+        // Then
+        assertEquals(Set.of(1L, 2L, 3L), claimed);
+        assertEquals(0, wordPool.available());
+        // Bloque agotado: se intenta reservar otro y no quedan palabras
+        assertTrue(wordPool.claim().isEmpty());
+        verify(wordRepository, times(1)).findReservedWords(anyString());
+        // Las palabras salen del bloque ya cargado, sin una consulta por partida
+        verify(wordRepository, never()).findById(anyLong());
+        // El bloque anterior se consumió entero: no hay nada que liberar
+        verify(wordRepository, never()).releaseReservations(anyCollection());
+    }
+
+    @Test
+    void testClaim_RetriesWhenAnotherNodeWonTheBlock() {
+        // Given
+        when(wordRepository.findMaxId()).thenReturn(MAXIMO_ID);
+        when(wordRepository.reserveBlock(anyString(), any(LocalDateTime.class), any(LocalDateTime.class), anyLong(), anyInt()))
+                .thenReturn(0, 0, 2, 0);
+        when(wordRepository.findReservedWords(anyString())).thenReturn(unusedWords(7L, 8L));
+
+        // When
+        Optional<Word> word = wordPool.claim();
+
+        // Then
+        assertTrue(word.isPresent());
+        assertEquals(1, wordPool.available());
+        // Cada intento recorre desde el id elegido y después desde el principio
+        verify(wordRepository, times(4)).reserveBlock(anyString(), any(LocalDateTime.class), any(LocalDateTime.class), anyLong(), anyInt());
+    }
+
+    @Test
+    void testClaim_NoWordsAvailable() {
+        // Given
+        when(wordRepository.findMaxId()).thenReturn(MAXIMO_ID);
+        when(wordRepository.reserveBlock(anyString(), any(LocalDateTime.class), any(LocalDateTime.class), anyLong(), anyInt()))
+                .thenReturn(0);
+
+        // When & Then
+        assertTrue(wordPool.claim().isEmpty());
+        verify(wordRepository, times(6)).reserveBlock(anyString(), any(LocalDateTime.class), any(LocalDateTime.class), anyLong(), anyInt());
+        verify(wordRepository, never()).findReservedWords(anyString());
+    }
+
+    @Test
+    void testClaim_EmptyTableDoesNotReserve() {
+        // Given
+        when(wordRepository.findMaxId()).thenReturn(0L);
+
+        // When & Then
+        assertTrue(wordPool.claim().isEmpty());
+        verify(wordRepository, never()).reserveBlock(anyString(), any(LocalDateTime.class), any(LocalDateTime.class), anyLong(), anyInt());
+    }
+
+    @Test
+    void testClaim_BlockStartsAtRandomIdAndWrapsAround() {
+        // Given
+        when(wordRepository.findMaxId()).thenReturn(MAXIMO_ID);
+        when(wordRepository.reserveBlock(anyString(), any(LocalDateTime.class), any(LocalDateTime.class), anyLong(), anyInt()))
+                .thenReturn(30, 70);
+        when(wordRepository.findReservedWords(anyString())).thenReturn(unusedWords(1L, 2L, 3L));
+
+        // When
+        wordPool.claim();
+
+        // Then
+        ArgumentCaptor<Long> desde = ArgumentCaptor.forClass(Long.class);
+        ArgumentCaptor<Integer> cantidad = ArgumentCaptor.forClass(Integer.class);
+        verify(wordRepository, times(2)).reserveBlock(anyString(), any(LocalDateTime.class), any(LocalDateTime.class),
+                desde.capture(), cantidad.capture());
+        assertTrue(desde.getAllValues().get(0) >= 1 && desde.getAllValues().get(0) <= MAXIMO_ID);
+        // Llegó al final de la tabla con 30 palabras: el resto sale desde el principio
+        assertEquals(List.of(desde.getAllValues().get(0), 0L), desde.getAllValues());
+        assertEquals(List.of(100, 70), cantidad.getAllValues());
+    }
+
+    @Test
+    void testShutdown_WritesUsedAndReleasesRemainingWords() {
+        // Given
+        when(wordRepository.findMaxId()).thenReturn(MAXIMO_ID);
+        when(wordRepository.reserveBlock(anyString(), any(LocalDateTime.class), any(LocalDateTime.class), anyLong(), anyInt()))
+                .thenReturn(3, 0);
+        when(wordRepository.findReservedWords(anyString())).thenReturn(unusedWords(1L, 2L, 3L));
+        List<Collection<Long>> writes = new ArrayList<>();
+        when(wordRepository.markUsed(anyCollection())).thenAnswer(invocation -> {
+            writes.add(new ArrayList<>(invocation.<Collection<Long>>getArgument(0)));
+            return 1;
+        });
+
+        // When
+        Long claimed = wordPool.claim().orElseThrow().getId();
+        verify(wordRepository, never()).markUsed(anyCollection());
+        wordPool.shutdown();
+
+        // Then
+        assertEquals(List.of(List.of(claimed)), writes);
+        // Lo entregado se escribe antes de devolver el resto del bloque
+        InOrder inOrder = inOrder(wordRepository);
+        inOrder.verify(wordRepository).markUsed(anyCollection());
+        inOrder.verify(wordRepository).releaseReservations(anyCollection());
+        verify(wordCatalog, times(1)).invalidate();
+        assertEquals(0, wordPool.available());
+    }
+
+    @Test
+    void testClaim_SkipsWordTooLongForTheGame() {
+        // Given: una fila cargada a mano, fuera del diccionario
+        when(wordRepository.findMaxId()).thenReturn(MAXIMO_ID);
+        when(wordRepository.reserveBlock(anyString(), any(LocalDateTime.class), any(LocalDateTime.class), anyLong(), anyInt()))
+                .thenReturn(2, 0);
+        when(wordRepository.findReservedWords(anyString())).thenReturn(List.of(
+                new Word(1L, "A".repeat(WordIndex.MAX_LENGTH + 1), false), new Word(2L, "PROGRAMADOR", false)));
+
+        // When
+        Set<Long> claimed = new HashSet<>();
+        wordPool.claim().ifPresent(word -> claimed.add(word.getId()));
+        wordPool.claim().ifPresent(word -> claimed.add(word.getId()));
+
+        // Then: se entrega solo la jugable, y la otra queda marcada para no volver a reservarse
+        assertEquals(Set.of(2L), claimed);
+        wordPool.flushUsed();
+        verify(wordRepository).markUsed(argThat(ids -> ids.containsAll(List.of(1L, 2L))));
+    }
+
+    @Test
+    void testFlushUsed_RetriesAfterFailure() {
+        // Given
+        when(wordRepository.findMaxId()).thenReturn(MAXIMO_ID);
+        when(wordRepository.reserveBlock(anyString(), any(LocalDateTime.class), any(LocalDateTime.class), anyLong(), anyInt()))
+                .thenReturn(1, 0);
+        when(wordRepository.findReservedWords(anyString())).thenReturn(unusedWords(1L));
+        when(wordRepository.markUsed(anyCollection()))
+                .thenThrow(new RuntimeException("DB caída"))
+                .thenReturn(1);
+
+        // When
+        wordPool.claim();
+        wordPool.flushUsed();
+        wordPool.flushUsed();
+
+        // Then
+        verify(wordRepository, times(2)).markUsed(List.of(1L));
+        // El catálogo solo cambia cuando la escritura se confirmó
+        verify(wordCatalog, times(1)).invalidate();
+    }
+}